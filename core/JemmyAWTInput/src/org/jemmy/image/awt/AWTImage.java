@@ -32,6 +32,7 @@ import org.jemmy.Dimension;
 import org.jemmy.JemmyException;
 import org.jemmy.control.Wrap;
 import org.jemmy.env.Environment;
+import org.jemmy.image.AsyncImageStore;
 import org.jemmy.image.Image;
 import org.jemmy.image.ImageComparator;
 import org.jemmy.image.ImageStore;
@@ -41,7 +42,7 @@ import org.jemmy.image.pixel.*;
 /**
  * @author shura
  */
-public class AWTImage implements Image, WriteableRaster {
+public class AWTImage implements Image, WriteableRaster, PackedRaster, ConcurrentRaster {
 
     public static final String OUTPUT = AWTImage.class.getName() + ".OUTPUT";
     public static final String PNG_FILE = ".png";
@@ -55,6 +56,9 @@ public class AWTImage implements Image, WriteableRaster {
      */
     public static File getImageRoot() {
         ImageStore res = Environment.getEnvironment().getProperty(ImageStore.class);
+        if (res instanceof AsyncImageStore) {
+            res = ((AsyncImageStore) res).getStore();
+        }
         if(!(res instanceof PNGFileImageStore)) {
             throw new IllegalStateException("Unsupported ImageStore: " + res.getClass().getName());
         }
@@ -63,11 +67,20 @@ public class AWTImage implements Image, WriteableRaster {
 
     /**
      * Set the value of imageRoot. If null, an image ID should be full path.
+     * Images are still saved asynchronously if the current store is an
+     * {@code AsyncImageStore}.
      *
      * @param imageRoot new value of imageRoot
      */
     public static void setImageRoot(File imageRoot) {
-        Environment.getEnvironment().setProperty(ImageStore.class, new PNGFileImageStore(imageRoot));
+        ImageStore store = new PNGFileImageStore(imageRoot);
+        ImageStore old = Environment.getEnvironment().getProperty(ImageStore.class);
+        if (old instanceof AsyncImageStore) {
+            AsyncImageStore async = (AsyncImageStore) old;
+            async.flush();
+            store = new AsyncImageStore(store, async.getThreads(), async.getCapacity());
+        }
+        Environment.getEnvironment().setProperty(ImageStore.class, store);
     }
 
     /**
@@ -100,6 +113,10 @@ public class AWTImage implements Image, WriteableRaster {
         Environment.getEnvironment().setPropertyIfNotSet(ImageStore.class, new PNGFileImageStore());
     }
 
+    private static final Component[] SUPPORTED = new Component[]{
+        Component.RED, Component.BLUE, Component.GREEN, Component.ALPHA};
+    private static final ComponentLayout LAYOUT = new ComponentLayout(SUPPORTED);
+
     private BufferedImage image;
 
     public AWTImage(BufferedImage img) {
@@ -124,12 +141,37 @@ public class AWTImage implements Image, WriteableRaster {
     /**
      * Saves to a filesystem. fileName is expected to be a full path, unless
      * imageRoot is specified. ".png" extension is added automatically if not
-     * specified.
+     * specified. The image is saved in background if the store is an
+     * {@code AsyncImageStore}. Images go to the current {@code ImageStore}
+     * as is if it is not a {@code PNGFileImageStore}.
      *
      * @see AWTImage#getImageRoot()
+     * @see AsyncImageStore#flush()
      * @param fileName full or relative file name
      */
     public void save(String fileName) {
+        ImageStore store = Environment.getEnvironment().getProperty(ImageStore.class);
+        if (store instanceof AsyncImageStore) {
+            String id = fileName.toLowerCase().endsWith(PNG_FILE) ? fileName : fileName + PNG_FILE;
+            try {
+                ((AsyncImageStore) store).save(this, id);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new JemmyException("Interrupted while saving image", ex, fileName);
+            }
+            Environment.getEnvironment().getOutput(OUTPUT).println("Image queued to be saved to " + id);
+            return;
+        }
+        if (!(store instanceof PNGFileImageStore)) {
+            String id = fileName.toLowerCase().endsWith(PNG_FILE) ? fileName : fileName + PNG_FILE;
+            try {
+                store.save(this, id);
+            } catch (Exception ex) {
+                throw new JemmyException("Unable to save image", ex, fileName);
+            }
+            Environment.getEnvironment().getOutput(OUTPUT).println("Image saved to " + store + " as " + id);
+            return;
+        }
         try {
             String fullPath = fileName;
             File imageRoot = getImageRoot();
@@ -153,7 +195,7 @@ public class AWTImage implements Image, WriteableRaster {
     public void getColors(int x, int y, double[] colors) {
         int orig = image.getRGB(x, y);
         int ivalue;
-        for (Raster.Component c : getSupported()) {
+        for (Raster.Component c : SUPPORTED) {
             switch (c) {
                 case ALPHA:
                     ivalue = (orig & 0xFF000000) >>> 0x18;
@@ -170,7 +212,7 @@ public class AWTImage implements Image, WriteableRaster {
                 default:
                     throw new IllegalArgumentException("Unknown color component" + c);
             }
-            colors[PixelImageComparator.arrayIndexOf(getSupported(), c)] = (double) ivalue / 0xFF;
+            colors[LAYOUT.indexOf(c)] = (double) ivalue / 0xFF;
         }
     }
 
@@ -178,8 +220,8 @@ public class AWTImage implements Image, WriteableRaster {
         int rgb = 0;
         double value;
         int ivalue;
-        for (Raster.Component c : getSupported()) {
-            value = colors[PixelImageComparator.arrayIndexOf(getSupported(), c)];
+        for (Raster.Component c : SUPPORTED) {
+            value = colors[LAYOUT.indexOf(c)];
             if (value < 0 || value > 1) {
                 throw new IllegalArgumentException("Color component value should be within (0, 1). Gotten: " + value);
             }
@@ -208,6 +250,40 @@ public class AWTImage implements Image, WriteableRaster {
     }
 
     public Component[] getSupported() {
-        return new Component[]{Component.RED, Component.BLUE, Component.GREEN, Component.ALPHA};
+        return SUPPORTED.clone();
+    }
+
+    @Override
+    public void getRow(int x, int y, int width, double[] colors) {
+        int[] argb = image.getRGB(x, y, width, 1, null, 0, width);
+        Component[] supported = SUPPORTED;
+        for (int i = 0; i < width; i++) {
+            Raster.fromARGB(argb[i], supported, colors, i * supported.length);
+        }
+    }
+
+    @Override
+    public void getARGB(int x, int y, int width, int height, int[] argb, int offset, int scansize) {
+        image.getRGB(x, y, width, height, argb, offset, scansize);
+    }
+
+    @Override
+    public void setRow(int x, int y, int width, double[] values) {
+        Component[] supported = SUPPORTED;
+        int[] argb = new int[width];
+        for (int i = 0; i < values.length && i < width * supported.length; i++) {
+            if (values[i] < 0 || values[i] > 1) {
+                throw new IllegalArgumentException("Color component value should be within (0, 1). Gotten: " + values[i]);
+            }
+        }
+        for (int i = 0; i < width; i++) {
+            argb[i] = Raster.toARGB(supported, values, i * supported.length);
+        }
+        image.setRGB(x, y, width, 1, argb, 0, width);
+    }
+
+    @Override
+    public void setARGB(int x, int y, int width, int height, int[] argb, int offset, int scansize) {
+        image.setRGB(x, y, width, height, argb, offset, scansize);
     }
 }
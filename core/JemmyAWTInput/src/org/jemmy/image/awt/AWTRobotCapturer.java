@@ -25,10 +25,13 @@
 package org.jemmy.image.awt;
 
 
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import org.jemmy.JemmyException;
 import org.jemmy.Rectangle;
 import org.jemmy.control.Wrap;
 import org.jemmy.image.Image;
-import org.jemmy.image.ImageCapturer;
+import org.jemmy.image.ScreenCapturer;
 import org.jemmy.input.awt.RobotDriver;
 
 
@@ -36,7 +39,7 @@ import org.jemmy.input.awt.RobotDriver;
  * Uses java.awt.Robot to capture the images
  * @author mrkam, shura
  */
-public class AWTRobotCapturer implements ImageCapturer {
+public class AWTRobotCapturer implements ScreenCapturer {
     static {
         try {
             Class.forName(AWTImage.class.getName());
@@ -54,4 +57,34 @@ public class AWTRobotCapturer implements ImageCapturer {
         return RobotDriver.createScreenCapture(rect);
     }
 
+    public Rectangle getScreenBounds() {
+        // an empty rectangle at 0, 0 would stretch the union to the origin
+        java.awt.Rectangle res = null;
+        for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+            java.awt.Rectangle bounds = device.getDefaultConfiguration().getBounds();
+            res = (res == null) ? bounds : res.union(bounds);
+        }
+        if (res == null) {
+            return new Rectangle();
+        }
+        return new Rectangle(res.x, res.y, res.width, res.height);
+    }
+
+    public Image capture(Rectangle area) {
+        return RobotDriver.createScreenCapture(area);
+    }
+
+    /**
+     * The part shares pixels with the image.
+     * @param image an image captured by this capturer
+     * @param area the part, relative to the image
+     * @return the part of the image
+     */
+    public Image crop(Image image, Rectangle area) {
+        if (!(image instanceof AWTImage)) {
+            throw new JemmyException("Unexpected image type", image);
+        }
+        return new AWTImage(((AWTImage) image).getTheImage()
+                .getSubimage(area.x, area.y, area.width, area.height));
+    }
 }
@@ -66,11 +66,13 @@ public class BufferedImageComparator extends PixelImageComparator {
 
     @Override
     protected WriteableRaster createDiffRaster(Raster r1, Raster r2) {
-        AWTImage img2 = (AWTImage) r2;
-        AWTImage img1 = (AWTImage) r1;
+        int type = (r1 instanceof AWTImage) ? ((AWTImage) r1).getTheImage().getType() : BufferedImage.TYPE_INT_ARGB;
+        if (type == BufferedImage.TYPE_CUSTOM) {
+            type = BufferedImage.TYPE_INT_ARGB;
+        }
         return new AWTImage(new BufferedImage(
-                Math.max(img1.getSize().width, img2.getSize().width),
-                Math.max(img1.getSize().height, img2.getSize().height),
-                img1.getTheImage().getType()));
+                Math.max(r1.getSize().width, r2.getSize().width),
+                Math.max(r1.getSize().height, r2.getSize().height),
+                type));
     }
 }
@@ -24,10 +24,12 @@
  */
 package org.jemmy.image.awt;
 
-
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
 import org.jemmy.env.Environment;
 import org.jemmy.image.Image;
-import org.jemmy.image.ImageLoader;
+import org.jemmy.image.ResolvingImageLoader;
 
 
 /**
@@ -36,7 +38,7 @@ import org.jemmy.image.ImageLoader;
  * @author mrkam
  * @author shura
  */
-public class ClasspathImageLoader implements ImageLoader {
+public class ClasspathImageLoader implements ResolvingImageLoader {
 
     private String packagePrefix = "";
     private ClassLoader classLoader = getClassLoader();
@@ -56,11 +58,41 @@ public class ClasspathImageLoader implements ImageLoader {
      * {@inheritDoc}
      */
     public Image load(String ID) {
-        String fullId = ((packagePrefix != null) ? packagePrefix : "") + ID;
+        String fullId = getFullId(ID);
         Environment.getEnvironment().getOutput(ClasspathImageLoader.OUTPUT).println("Image loaded from " + fullId + " by " + classLoader);
         return new AWTImage(PNGDecoder.decode(classLoader, fullId));
     }
 
+    private String getFullId(String ID) {
+        return ((packagePrefix != null) ? packagePrefix : "") + ID;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String resolve(String ID) {
+        URL url = classLoader.getResource(getFullId(ID));
+        return (url != null) ? url.toString() : getFullId(ID);
+    }
+
+    /**
+     * Only images loaded from directories have the modification time known.
+     * Images in archives are not expected to change.
+     * @param ID image ID
+     * @return the file modification time or 0
+     */
+    public long lastModified(String ID) {
+        URL url = classLoader.getResource(getFullId(ID));
+        if (url != null && "file".equals(url.getProtocol())) {
+            try {
+                return new File(url.toURI()).lastModified();
+            } catch (URISyntaxException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
     /**
      * Set the value of classLoader
      *
@@ -111,11 +111,15 @@ public class ColorImageComparator implements ImageComparator {
 
     private AWTImage recolor(AWTImage isrc, ColorMap map) {
         BufferedImage src = isrc.getTheImage();
-        BufferedImage result = new BufferedImage(src.getWidth(), src.getHeight(), src.getType());
-        for (int x = 0; x < src.getWidth(); x++) {
-            for (int y = 0; y < src.getWidth(); y++) {
-                result.setRGB(x, y, map.mapColor(src.getRGB(x, y)));
+        int width = src.getWidth();
+        BufferedImage result = new BufferedImage(width, src.getHeight(), src.getType());
+        int[] row = new int[width];
+        for (int y = 0; y < src.getHeight(); y++) {
+            src.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                row[x] = map.mapColor(row[x]);
             }
+            result.setRGB(0, y, width, 1, row, 0, width);
         }
         return new AWTImage(result);
     }
@@ -28,14 +28,14 @@ package org.jemmy.image.awt;
 import java.io.File;
 import org.jemmy.env.Environment;
 import org.jemmy.image.Image;
-import org.jemmy.image.ImageLoader;
+import org.jemmy.image.ResolvingImageLoader;
 
 
 /**
  * This is an implementation of ImageLoader which loads images from filesystem.
  * @author mrkam
  */
-public class FilesystemImageLoader implements ImageLoader {
+public class FilesystemImageLoader implements ResolvingImageLoader {
 
     private File imageRoot = null;
 
@@ -46,13 +46,32 @@ public class FilesystemImageLoader implements ImageLoader {
     }
 
     public Image load(String ID) {
+        String fullPath = getPath(ID);
+        Environment.getEnvironment().getOutput(FilesystemImageLoader.OUTPUT).println("Image loaded from " + fullPath);
+        return new AWTImage(PNGDecoder.decode(fullPath));
+    }
+
+    private String getPath(String ID) {
         String fullPath = ID + (ID.toLowerCase().endsWith(AWTImage.PNG_FILE) ? "" :
                 AWTImage.PNG_FILE);
         if (imageRoot != null) {
             fullPath = imageRoot.getAbsolutePath() + File.separator + ID;
         }
-        Environment.getEnvironment().getOutput(FilesystemImageLoader.OUTPUT).println("Image loaded from " + fullPath);
-        return new AWTImage(PNGDecoder.decode(fullPath));
+        return fullPath;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String resolve(String ID) {
+        return new File(getPath(ID)).getAbsolutePath();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long lastModified(String ID) {
+        return new File(getPath(ID)).lastModified();
     }
 
     public void setImageRoot(File imageRoot) {
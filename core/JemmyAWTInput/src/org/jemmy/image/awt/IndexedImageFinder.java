@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.awt;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import org.jemmy.Point;
+
+/**
+ * Finds images inside an area image without comparing every pixel at every
+ * location. Exact matches are found by comparing rolling hashes of all the
+ * locations with the hash of the image. For rough matches, sums of pixel
+ * values over blocks of the image, from the whole image down to 16x16
+ * blocks, are compared with sums over the same blocks of a location, which
+ * are obtained from an integral image of the area. Every block with a
+ * different sum contains a different pixel, so locations with too many such
+ * blocks are skipped. Remaining locations are compared pixel by pixel.
+ * <p>
+ * Locations are ordered the same way {@code StrictImageFinder} and
+ * {@code RoughImageFinder} do: by x, then by y.
+ *
+ * @see StrictImageFinder
+ * @see RoughImageFinder
+ */
+public class IndexedImageFinder implements ImageFinder {
+
+    private static final long VERTICAL = 0x9E3779B97F4A7C15L;
+    private static final long HORIZONTAL = 0xC2B2AE3D27D4EB4FL;
+    private static final int MAX_BLOCKS = 16;
+
+    private final double roughness;
+    private final int bigWidth;
+    private final int bigHeight;
+    private final int[] bigPixels;
+    private long[] integral = null;
+
+    /**
+     * Creates an instance finding exact matches.
+     * @param area image to search in
+     */
+    public IndexedImageFinder(BufferedImage area) {
+        this(area, 0);
+    }
+
+    /**
+     * @param area image to search in
+     * @param roughness allowed share of different pixels
+     */
+    public IndexedImageFinder(BufferedImage area, double roughness) {
+        this.roughness = roughness;
+        bigWidth = area.getWidth();
+        bigHeight = area.getHeight();
+        bigPixels = area.getRGB(0, 0, bigWidth, bigHeight, null, 0, bigWidth);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Point findImage(BufferedImage image, int index) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width > bigWidth || height > bigHeight) {
+            return null;
+        }
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        double maxRoughPixels = (double) (width * height) * roughness;
+        if (maxRoughPixels < 0) {
+            return null;
+        }
+        if (width == 0 || height == 0 || maxRoughPixels >= width * height) {
+            //every location fits
+            int column = bigHeight - height + 1;
+            long total = (long) (bigWidth - width + 1) * column;
+            return (index < total) ? new Point(index / column, index % column) : null;
+        }
+        if (maxRoughPixels < 1) {
+            return findExact(pixels, width, height, index);
+        } else {
+            return findRough(pixels, width, height, maxRoughPixels, index);
+        }
+    }
+
+    private Point findExact(int[] pixels, int width, int height, int index) {
+        long verticalPower = power(VERTICAL, height - 1);
+        long horizontalPower = power(HORIZONTAL, width - 1);
+        long[] columns = new long[width];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                columns[x] = columns[x] * VERTICAL + pixels[y * width + x];
+            }
+        }
+        long target = 0;
+        for (int x = 0; x < width; x++) {
+            target = target * HORIZONTAL + columns[x];
+        }
+        columns = new long[bigWidth];
+        for (int x = 0; x < bigWidth; x++) {
+            for (int y = 0; y < height; y++) {
+                columns[x] = columns[x] * VERTICAL + bigPixels[y * bigWidth + x];
+            }
+        }
+        long[] candidates = new long[16];
+        int found = 0;
+        for (int Y = 0; Y <= bigHeight - height; Y++) {
+            if (Y > 0) {
+                int removed = (Y - 1) * bigWidth;
+                int added = (Y - 1 + height) * bigWidth;
+                for (int x = 0; x < bigWidth; x++) {
+                    columns[x] = (columns[x] - bigPixels[removed + x] * verticalPower) * VERTICAL
+                            + bigPixels[added + x];
+                }
+            }
+            long hash = 0;
+            for (int x = 0; x < width; x++) {
+                hash = hash * HORIZONTAL + columns[x];
+            }
+            for (int X = 0; ; X++) {
+                if (hash == target) {
+                    if (found == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, found * 2);
+                    }
+                    candidates[found++] = ((long) X << 32) | Y;
+                }
+                if (X == bigWidth - width) {
+                    break;
+                }
+                hash = (hash - columns[X] * horizontalPower) * HORIZONTAL + columns[X + width];
+            }
+        }
+        Arrays.sort(candidates, 0, found);
+        int count = 0;
+        for (int i = 0; i < found; i++) {
+            int X = (int) (candidates[i] >>> 32);
+            int Y = (int) candidates[i];
+            if (countDifferent(pixels, width, height, X, Y, 0) == 0) {
+                if (count == index) {
+                    return new Point(X, Y);
+                }
+                count++;
+            }
+        }
+        return null;
+    }
+
+    private Point findRough(int[] pixels, int width, int height, double maxRoughPixels, int index) {
+        long[] sums = getIntegral();
+        int levels = 0;
+        while (levels < 5 && (1 << levels) <= Math.min(Math.min(width, height), MAX_BLOCKS)) {
+            levels++;
+        }
+        int[][] lefts = new int[levels][];
+        int[][] tops = new int[levels][];
+        long[][] expected = new long[levels][];
+        for (int l = 0; l < levels; l++) {
+            int blocks = 1 << l;
+            lefts[l] = new int[blocks + 1];
+            tops[l] = new int[blocks + 1];
+            for (int i = 0; i <= blocks; i++) {
+                lefts[l][i] = i * width / blocks;
+                tops[l][i] = i * height / blocks;
+            }
+            expected[l] = new long[blocks * blocks];
+            for (int by = 0; by < blocks; by++) {
+                for (int bx = 0; bx < blocks; bx++) {
+                    long sum = 0;
+                    for (int y = tops[l][by]; y < tops[l][by + 1]; y++) {
+                        for (int x = lefts[l][bx]; x < lefts[l][bx + 1]; x++) {
+                            sum += pixels[y * width + x] & 0xFFFFFFFFL;
+                        }
+                    }
+                    expected[l][by * blocks + bx] = sum;
+                }
+            }
+        }
+        int stride = bigWidth + 1;
+        int count = 0;
+        for (int X = 0; X <= bigWidth - width; X++) {
+            for (int Y = 0; Y <= bigHeight - height; Y++) {
+                boolean skip = false;
+                for (int l = 0; l < levels && !skip; l++) {
+                    int blocks = 1 << l;
+                    int different = 0;
+                    for (int by = 0; by < blocks && !skip; by++) {
+                        int top = (Y + tops[l][by]) * stride;
+                        int bottom = (Y + tops[l][by + 1]) * stride;
+                        for (int bx = 0; bx < blocks; bx++) {
+                            int left = X + lefts[l][bx];
+                            int right = X + lefts[l][bx + 1];
+                            long sum = sums[bottom + right] - sums[top + right] - sums[bottom + left] + sums[top + left];
+                            if (sum != expected[l][by * blocks + bx] && ++different > maxRoughPixels) {
+                                skip = true;
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (!skip && countDifferent(pixels, width, height, X, Y, maxRoughPixels) <= maxRoughPixels) {
+                    if (count == index) {
+                        return new Point(X, Y);
+                    }
+                    count++;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Counts pixels different at a location, stopping once the count exceeds
+     * the limit.
+     */
+    private int countDifferent(int[] pixels, int width, int height, int X, int Y, double limit) {
+        int res = 0;
+        for (int y = 0; y < height; y++) {
+            int small = y * width;
+            int big = (Y + y) * bigWidth + X;
+            for (int x = 0; x < width; x++) {
+                if (pixels[small + x] != bigPixels[big + x] && ++res > limit) {
+                    return res;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Sums of pixel values over the rectangles from the top left corner.
+     */
+    private synchronized long[] getIntegral() {
+        if (integral == null) {
+            int stride = bigWidth + 1;
+            long[] res = new long[stride * (bigHeight + 1)];
+            for (int y = 0; y < bigHeight; y++) {
+                long row = 0;
+                for (int x = 0; x < bigWidth; x++) {
+                    row += bigPixels[y * bigWidth + x] & 0xFFFFFFFFL;
+                    res[(y + 1) * stride + x + 1] = res[y * stride + x + 1] + row;
+                }
+            }
+            integral = res;
+        }
+        return integral;
+    }
+
+    private static long power(long base, int exponent) {
+        long res = 1;
+        for (int i = 0; i < exponent; i++) {
+            res *= base;
+        }
+        return res;
+    }
+}
@@ -32,21 +32,18 @@ import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
 
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
 
-import java.util.zip.CRC32;
-import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
 import org.jemmy.control.ScreenArea;
+import org.jemmy.image.pixel.PNGSaver;
 
 /**
  * This class allows to encode BufferedImage into B/W, greyscale or true color PNG
- * image format with maximum compression.<br>
+ * image format with configurable compression.<br>
  * It also provides complete functionality for capturing full screen, part of
  * screen or single component, encoding and saving captured image info PNG file.
  * @author Adam Sotona
@@ -62,11 +59,11 @@ public class PNGEncoder extends Object {
     public static final byte COLOR_MODE = 2;
 
     OutputStream out;
-    CRC32 crc;
     byte mode;
+    private final PNGSaver saver;
 
     public PNGEncoder(File file) throws FileNotFoundException {
-        this(new FileOutputStream(file));
+        this(new BufferedOutputStream(new FileOutputStream(file)));
     }
     /** public constructor of PNGEncoder class with greyscale mode by default.
      * @param out output stream for PNG image format to write into
@@ -80,21 +77,50 @@ public class PNGEncoder extends Object {
      * @param mode BW_MODE, GREYSCALE_MODE or COLOR_MODE
      */
     public PNGEncoder(OutputStream out, byte mode) {
-        crc=new CRC32();
         this.out = out;
         if (mode<0 || mode>2)
             throw new IllegalArgumentException("Unknown color mode");
         this.mode = mode;
+        saver = new PNGSaver(out, mode);
     }
 
-    void write(int i) throws IOException {
-        byte b[]={(byte)((i>>24)&0xff),(byte)((i>>16)&0xff),(byte)((i>>8)&0xff),(byte)(i&0xff)};
-        write(b);
+    public int getCompressionLevel() {
+        return saver.getCompressionLevel();
     }
 
-    void write(byte b[]) throws IOException {
-        out.write(b);
-        crc.update(b);
+    /**
+     * @param compressionLevel compression level
+     * @throws IllegalArgumentException if the level is not supported
+     * @see PNGSaver#setCompressionLevel(int)
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        saver.setCompressionLevel(compressionLevel);
+    }
+
+    public int getStrategy() {
+        return saver.getStrategy();
+    }
+
+    /**
+     * @param strategy compression strategy
+     * @throws IllegalArgumentException if the strategy is not supported
+     * @see PNGSaver#setStrategy(int)
+     */
+    public void setStrategy(int strategy) {
+        saver.setStrategy(strategy);
+    }
+
+    public int getFilter() {
+        return saver.getFilter();
+    }
+
+    /**
+     * @param filter row filter
+     * @throws IllegalArgumentException if the filter is not supported
+     * @see PNGSaver#setFilter(int)
+     */
+    public void setFilter(int filter) {
+        saver.setFilter(filter);
     }
 
     /** main encoding method (stays blocked till encoding is finished).
@@ -109,102 +135,10 @@ public class PNGEncoder extends Object {
      * @param image BufferedImage to encode
      * @param closeStream requests method to close the stream after the image is written
      * @throws IOException IOException
+     * @see PNGSaver
      */
     public void encode(BufferedImage image, boolean closeStream) throws IOException {
-        int width = image.getWidth(null);
-        int height = image.getHeight(null);
-        final byte id[] = {-119, 80, 78, 71, 13, 10, 26, 10, 0, 0, 0, 13};
-        write(id);
-        crc.reset();
-        write("IHDR".getBytes());
-        write(width);
-        write(height);
-        byte head[]=null;
-        switch (mode) {
-            case BW_MODE: head=new byte[]{1, 0, 0, 0, 0}; break;
-            case GREYSCALE_MODE: head=new byte[]{8, 0, 0, 0, 0}; break;
-            case COLOR_MODE: head=new byte[]{8, 2, 0, 0, 0}; break;
-        }
-        write(head);
-        write((int) crc.getValue());
-        ByteArrayOutputStream compressed = new ByteArrayOutputStream(65536);
-        BufferedOutputStream bos = new BufferedOutputStream( new DeflaterOutputStream(compressed, new Deflater(9)));
-        int pixel;
-        int color;
-        int colorset;
-        switch (mode) {
-            case BW_MODE:
-                int rest=width%8;
-                int bytes=width/8;
-                for (int y=0;y<height;y++) {
-                    bos.write(0);
-                    for (int x=0;x<bytes;x++) {
-                        colorset=0;
-                        for (int sh=0; sh<8; sh++) {
-                            pixel=image.getRGB(x*8+sh,y);
-                            color=((pixel >> 16) & 0xff);
-                            color+=((pixel >> 8) & 0xff);
-                            color+=(pixel & 0xff);
-                            colorset<<=1;
-                            if (color>=3*128)
-                                colorset|=1;
-                        }
-                        bos.write((byte)colorset);
-                    }
-                    if (rest>0) {
-                        colorset=0;
-                        for (int sh=0; sh<width%8; sh++) {
-                            pixel=image.getRGB(bytes*8+sh,y);
-                            color=((pixel >> 16) & 0xff);
-                            color+=((pixel >> 8) & 0xff);
-                            color+=(pixel & 0xff);
-                            colorset<<=1;
-                            if (color>=3*128)
-                                colorset|=1;
-                        }
-                        colorset<<=8-rest;
-                        bos.write((byte)colorset);
-                    }
-                }
-                break;
-            case GREYSCALE_MODE:
-                for (int y=0;y<height;y++) {
-                    bos.write(0);
-                    for (int x=0;x<width;x++) {
-                        pixel=image.getRGB(x,y);
-                        color=((pixel >> 16) & 0xff);
-                        color+=((pixel >> 8) & 0xff);
-                        color+=(pixel & 0xff);
-                        bos.write((byte)(color/3));
-                    }
-                }
-                break;
-             case COLOR_MODE:
-                for (int y=0;y<height;y++) {
-                    bos.write(0);
-                    for (int x=0;x<width;x++) {
-                        pixel=image.getRGB(x,y);
-                        bos.write((byte)((pixel >> 16) & 0xff));
-                        bos.write((byte)((pixel >> 8) & 0xff));
-                        bos.write((byte)(pixel & 0xff));
-                    }
-                }
-                break;
-        }
-        bos.close();
-        write(compressed.size());
-        crc.reset();
-        write("IDAT".getBytes());
-        write(compressed.toByteArray());
-        write((int) crc.getValue());
-        write(0);
-        crc.reset();
-        write("IEND".getBytes());
-        write((int) crc.getValue());
-        out.flush();
-        if (closeStream) {
-            out.close();
-        }
+        saver.encode(new AWTImage(image), closeStream);
     }
 
     /** Static method performing screen capture into PNG image format file with given fileName.
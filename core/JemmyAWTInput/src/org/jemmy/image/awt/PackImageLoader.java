@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.awt;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import org.jemmy.JemmyException;
+import org.jemmy.env.Environment;
+import org.jemmy.image.Image;
+import org.jemmy.image.ResolvingImageLoader;
+import org.jemmy.image.pixel.ImagePack;
+import org.jemmy.image.pixel.PNGLoader;
+import org.jemmy.image.pixel.WriteableRaster;
+
+
+/**
+ * Loads images out of an {@code ImagePack}, alpha included. IDs are treated
+ * the same way {@code AWTImage.save(String)} treats them, so images saved
+ * through a {@code PackImageStore} could be loaded by the same IDs.
+ *
+ * @see org.jemmy.image.pixel.PackImageStore
+ */
+public class PackImageLoader implements ResolvingImageLoader {
+
+    public static final String OUTPUT = AWTImage.class.getName() + ".OUTPUT";
+
+    private final ImagePack pack;
+
+    /**
+     * @param root directory of the pack
+     */
+    public PackImageLoader(File root) {
+        this(ImagePack.open(root));
+    }
+
+    public PackImageLoader(ImagePack pack) {
+        this.pack = pack;
+    }
+
+    public ImagePack getPack() {
+        return pack;
+    }
+
+    private String getID(String ID) {
+        return ID.toLowerCase().endsWith(AWTImage.PNG_FILE) ? ID : ID + AWTImage.PNG_FILE;
+    }
+
+    public Image load(String ID) {
+        String id = getID(ID);
+        try {
+            Image res = (AWTImage) new PNGLoader(pack.open(id)) {
+                @Override
+                protected WriteableRaster createRaster(int width, int height) {
+                    return new AWTImage(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+                }
+            }.decode();
+            Environment.getEnvironment().getOutput(PackImageLoader.OUTPUT).println(
+                    "Image loaded from " + pack.getRoot() + " by " + id);
+            return res;
+        } catch (IOException ex) {
+            throw new JemmyException("Unable to load image", ex, id);
+        }
+    }
+
+    /**
+     * Images are addressed by content, so an ID is resolved to the content
+     * digest.
+     * @param ID image ID
+     * @return the pack directory and the digest of the image
+     */
+    public String resolve(String ID) {
+        byte[] digest = pack.getDigest(getID(ID));
+        if (digest == null) {
+            return pack.getRoot().getAbsolutePath() + "#" + getID(ID);
+        }
+        StringBuilder res = new StringBuilder(pack.getRoot().getAbsolutePath()).append('#');
+        for (byte b : digest) {
+            res.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return res.toString();
+    }
+
+    /**
+     * @param ID image ID
+     * @return always 0, content is never changed under a resolved key
+     */
+    public long lastModified(String ID) {
+        return 0;
+    }
+}
@@ -33,9 +33,7 @@ import java.awt.image.BufferedImage;
  * @author shura
  */
 public class RoughImageFinder implements ImageFinder {
-    double roughness = .0;
-    int bigWidth, bigHeight;
-    int[][] bigPixels;
+    private final IndexedImageFinder finder;
 
     /**
      * Creates an instance allowing to find an image inside the one
@@ -44,15 +42,7 @@ public class RoughImageFinder implements ImageFinder {
      * @param roughness - Allowed
      */
     public RoughImageFinder(BufferedImage area, double roughness) {
-        this.roughness = roughness;
-        bigWidth  = area.getWidth();
-        bigHeight = area.getHeight();
-        bigPixels = new int[bigWidth][bigHeight];
-        for(int x = 0; x < bigWidth; x++) {
-            for(int y = 0; y < bigHeight; y++) {
-                bigPixels[x][y] = area.getRGB(x, y);
-            }
-        }
+        finder = new IndexedImageFinder(area, roughness);
     }
 
     /**
@@ -61,42 +51,9 @@ public class RoughImageFinder implements ImageFinder {
      * @param index an ordinal image location index.
      * @return Point where number of unmatching pixels less or equal to
      * <code>image1.getWidth() * image1.getHeight() * roughness</code>
+     * @see IndexedImageFinder
      */
     public Point findImage(BufferedImage image, int index) {
-        int smallWidth  = image.getWidth();
-        int smallHeight = image.getHeight();
-        int[][] smallPixels = new int[smallWidth][smallHeight];
-        for(int x = 0; x < smallWidth; x++) {
-            for(int y = 0; y < smallHeight; y++) {
-                smallPixels[x][y] = image.getRGB(x, y);
-            }
-        }
-        double maxRoughPixels = (double)(smallWidth * smallHeight) * roughness;
-        int count = 0;
-        for(int X = 0; X <= bigWidth - smallWidth; X++) {
-            for(int Y = 0; Y <= bigHeight - smallHeight; Y++) {
-                int roughPixels = 0;
-                for(int x = 0; x < smallWidth; x++) {
-                    for(int y = 0; y < smallHeight; y++) {
-                        if(smallPixels[x][y] != bigPixels[X + x][Y + y]) {
-                            roughPixels++;
-                            if(roughPixels > maxRoughPixels) {
-                                break;
-                            }
-                        }
-                    }
-                    if(roughPixels > maxRoughPixels) {
-                        break;
-                    }
-                }
-                if(roughPixels <= maxRoughPixels) {
-                    if(count == index) {
-                        return(new Point(X, Y));
-                    }
-                    count++;
-                }
-            }
-        }
-        return(null);
+        return finder.findImage(image, index);
     }
 }
@@ -33,22 +33,14 @@ import java.awt.image.BufferedImage;
  * @author Alexandre Iline (alexandre.iline@sun.com)
  */
 public class StrictImageFinder implements ImageFinder {
-    int bigWidth, bigHeight;
-    int[][] bigPixels;
+    private final IndexedImageFinder finder;
 
     /**
      * Creates an instance searching subimages insige a parameter image.
      * @param area - Image to search in.
      */
     public StrictImageFinder(BufferedImage area) {
-        bigWidth  = area.getWidth();
-        bigHeight = area.getHeight();
-        bigPixels = new int[bigWidth][bigHeight];
-        for(int x = 0; x < bigWidth; x++) {
-            for(int y = 0; y < bigHeight; y++) {
-                bigPixels[x][y] = area.getRGB(x, y);
-            }
-        }
+        finder = new IndexedImageFinder(area);
     }
 
     /**
@@ -57,40 +49,9 @@ public class StrictImageFinder implements ImageFinder {
      * @param index an ordinal image location index. If equal to 1, for example,
      * second appropriate location will be found.
      * @return Left-up corner coordinates of image location.
+     * @see IndexedImageFinder
      */
     public Point findImage(BufferedImage image, int index) {
-        int smallWidth  = image.getWidth();
-        int smallHeight = image.getHeight();
-        int[][] smallPixels = new int[smallWidth][smallHeight];
-        for(int x = 0; x < smallWidth; x++) {
-            for(int y = 0; y < smallHeight; y++) {
-                smallPixels[x][y] = image.getRGB(x, y);
-            }
-        }
-        boolean good;
-        int count = 0;
-        for(int X = 0; X <= bigWidth - smallWidth; X++) {
-            for(int Y = 0; Y <= bigHeight - smallHeight; Y++) {
-                good = true;
-                for(int x = 0; x < smallWidth; x++) {
-                    for(int y = 0; y < smallHeight; y++) {
-                        if(smallPixels[x][y] != bigPixels[X + x][Y + y]) {
-                            good = false;
-                            break;
-                        }
-                    }
-                    if(!good) {
-                        break;
-                    }
-                }
-                if(good) {
-                    if(count == index) {
-                        return(new Point(X, Y));
-                    }
-                    count++;
-                }
-            }
-        }
-        return(null);
+        return finder.findImage(image, index);
     }
 }
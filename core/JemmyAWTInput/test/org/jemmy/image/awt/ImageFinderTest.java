@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.awt;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import org.jemmy.Point;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+/**
+ * Compares the finders with a pixel by pixel search.
+ */
+public class ImageFinderTest {
+
+    @Test
+    public void sameLocations() {
+        Random random = new Random(0);
+        BufferedImage area = new BufferedImage(90, 60, BufferedImage.TYPE_INT_RGB);
+        int[] colors = {0xFFFFFF, 0x000000, 0x3366CC};
+        for (int x = 0; x < area.getWidth(); x++) {
+            for (int y = 0; y < area.getHeight(); y++) {
+                //mostly a repeated pattern with some noise
+                int color = colors[(x / 3 + y / 2) % colors.length];
+                area.setRGB(x, y, random.nextInt(10) == 0 ? colors[random.nextInt(colors.length)] : color);
+            }
+        }
+        int[][] templates = {{10, 10, 8, 6}, {0, 0, 3, 2}, {50, 30, 17, 19}, {70, 40, 20, 20}, {5, 5, 1, 1}};
+        for (int[] t : templates) {
+            BufferedImage image = area.getSubimage(t[0], t[1], t[2], t[3]);
+            for (double roughness : new double[] {0, 0.05, 0.2, 0.5}) {
+                RoughImageFinder rough = new RoughImageFinder(area, roughness);
+                StrictImageFinder strict = new StrictImageFinder(area);
+                for (int index = 0; index < 6; index++) {
+                    Point expected = find(area, image, roughness, index);
+                    assertEquals(rough.findImage(image, index), expected,
+                            "roughness " + roughness + ", template " + t[2] + "x" + t[3] + ", index " + index);
+                    if (roughness == 0) {
+                        assertEquals(strict.findImage(image, index), expected);
+                    }
+                }
+                assertNotNull(rough.findImage(image, 0));
+            }
+        }
+    }
+
+    /**
+     * The search as it used to be done.
+     */
+    private static Point find(BufferedImage area, BufferedImage image, double roughness, int index) {
+        double maxRoughPixels = (double) (image.getWidth() * image.getHeight()) * roughness;
+        int count = 0;
+        for (int X = 0; X <= area.getWidth() - image.getWidth(); X++) {
+            for (int Y = 0; Y <= area.getHeight() - image.getHeight(); Y++) {
+                int roughPixels = 0;
+                for (int x = 0; x < image.getWidth(); x++) {
+                    for (int y = 0; y < image.getHeight(); y++) {
+                        if (image.getRGB(x, y) != area.getRGB(X + x, Y + y)) {
+                            roughPixels++;
+                        }
+                    }
+                }
+                if (roughPixels <= maxRoughPixels) {
+                    if (count == index) {
+                        return new Point(X, Y);
+                    }
+                    count++;
+                }
+            }
+        }
+        return null;
+    }
+}
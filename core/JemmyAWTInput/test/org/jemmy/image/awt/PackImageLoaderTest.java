@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.awt;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.jemmy.image.pixel.ImagePack;
+import org.jemmy.image.pixel.PackImageStore;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class PackImageLoaderTest {
+
+    @Test
+    public void translucent() throws IOException {
+        File root = Files.createTempDirectory("pack").toFile();
+        try {
+            BufferedImage image = new BufferedImage(20, 10, BufferedImage.TYPE_INT_ARGB);
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    image.setRGB(x, y, (x * 12) << 24 | (y * 25) << 16 | 0x80 << 8 | x * y);
+                }
+            }
+            AWTImage saved = new AWTImage(image);
+            new PackImageStore(root).save(saved, "translucent.png");
+            PackImageLoader loader = new PackImageLoader(root);
+            AWTImage loaded = (AWTImage) loader.load("translucent");
+            assertEquals(loaded.getTheImage().getRGB(0, 0, 20, 10, null, 0, 20),
+                    image.getRGB(0, 0, 20, 10, null, 0, 20));
+            assertTrue(Arrays.equals(ImagePack.digest(loaded), ImagePack.digest(saved)));
+        } finally {
+            ImagePack.open(root).close();
+            for (File file : root.listFiles()) {
+                file.delete();
+            }
+            root.delete();
+        }
+    }
+}
@@ -24,6 +24,8 @@
  */
 package org.jemmy.action;
 
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
 import org.jemmy.JemmyException;
 import org.jemmy.env.Environment;
 import org.jemmy.env.TestOut;
@@ -59,11 +61,44 @@ public abstract class AbstractExecutor implements ActionExecutor {
      */
     public static final String QUEUE_ACTION_OUTPUT = "org.jemmy.action.AbstractExecutor.QUEUE_ACTION_OUTPUT";
     private ActionQueue queue;
+    private volatile ThreadFactory detachedThreads = new ThreadFactory() {
+        public Thread newThread(Runnable r) {
+            return new Thread(r);
+        }
+    };
 
     public AbstractExecutor() {
         queue = new ActionQueue();
     }
 
+    /**
+     * Sets a factory for the threads running detached actions which are
+     * executed not through the queue.
+     * @param factory the thread factory
+     * @see #virtualThreads()
+     */
+    public void setDetachedThreadFactory(ThreadFactory factory) {
+        this.detachedThreads = factory;
+    }
+
+    public ThreadFactory getDetachedThreadFactory() {
+        return detachedThreads;
+    }
+
+    /**
+     * Returns a factory of virtual threads if the runtime supports them.
+     * @return the virtual thread factory or null
+     * @see #setDetachedThreadFactory(java.util.concurrent.ThreadFactory)
+     */
+    public static ThreadFactory virtualThreads() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
     static {
         Environment.getEnvironment().initTimeout(MAX_ACTION_TIME);
         Environment.getEnvironment().initOutput(QUEUE_ACTION_OUTPUT, TestOut.getNullOutput());
@@ -118,7 +153,7 @@ public abstract class AbstractExecutor implements ActionExecutor {
             executeQueueDetached(env, action, parameters);
         } else {
             if (isInAction()) {
-                new Thread(new Runnable() {
+                detachedThreads.newThread(new Runnable() {
 
                     public void run() {
                         action.execute(parameters);
@@ -130,14 +165,51 @@ public abstract class AbstractExecutor implements ActionExecutor {
         }
     }
 
+    /**
+     * Executes a number of actions not on the UI system's dispatch thread, one
+     * after another, handing them all to the queue at once. Execution stops on
+     * the first failed action.
+     * @param env Environment.
+     * @param actions actions to execute.
+     * @see #execute(org.jemmy.env.Environment, boolean, org.jemmy.action.Action, java.lang.Object[])
+     */
+    public final void submitAll(Environment env, List<? extends Action> actions) {
+        long allowed = env.getTimeout(MAX_ACTION_TIME.getName()).getValue();
+        for (Action action : actions) {
+            printStrace(env, "Action: ", action);
+            action.setAllowedTime(allowed);
+        }
+        if (isInAction()) {
+            for (Action action : actions) {
+                try {
+                    action.execute();
+                } catch (RuntimeException e) {
+                    //kept by the action, reported below
+                } catch (Error e) {
+                    //same
+                }
+                if (action.getThrowable() != null) {
+                    break;
+                }
+            }
+        } else {
+            queue.submitAll(actions);
+        }
+        for (Action action : actions) {
+            if (action.getThrowable() != null) {
+                throw new JemmyException("Exception in action " + action,
+                        action.getThrowable());
+            }
+        }
+    }
+
     private void printStrace(Environment env, String text, Action action) {
-        String toString = action.toString();
-        if (toString != null && toString.length() > 0) {
-            if (!isInAction()) {
-                if (isOnQueue()) {
-                    env.getOutput(QUEUE_ACTION_OUTPUT).println(text + action.toString());
-                } else {
-                    env.getOutput(NON_QUEUE_ACTION_OUTPUT).println(text + action.toString());
+        if (!isInAction()) {
+            TestOut out = env.getOutput(isOnQueue() ? QUEUE_ACTION_OUTPUT : NON_QUEUE_ACTION_OUTPUT);
+            if (out.isEnabled()) {
+                String toString = action.toString();
+                if (toString != null && toString.length() > 0) {
+                    out.println(text + toString);
                 }
             }
         }
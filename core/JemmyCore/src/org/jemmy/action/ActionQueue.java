@@ -25,7 +25,13 @@
 package org.jemmy.action;
 
 
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import org.jemmy.JemmyException;
 import org.jemmy.TimeoutExpiredException;
 
@@ -37,39 +43,30 @@ import org.jemmy.TimeoutExpiredException;
 class ActionQueue {
 
     private Thread queueThread;
-    private final LinkedList<ActionRecord> queue;
-    private boolean stop = false;
+    private final Queue<ActionRecord> queue;
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile boolean stop = false;
 
     public ActionQueue() {
-        queue = new LinkedList<ActionRecord>();
+        queue = new ConcurrentLinkedQueue<ActionRecord>();
         queueThread = new Thread(new Runnable() {
 
             public void run() {
-                int size;
                 while (!stop) {
-                    synchronized (queue) {
-                        size = queue.size();
-                        if (size == 0) {
-                            try {
-                                queue.wait();
-                            } catch (InterruptedException ex) {
-                            }
-                        }
+                    ActionRecord r = queue.poll();
+                    if (r == null) {
+                        LockSupport.park(ActionQueue.this);
+                        continue;
                     }
-                    if (size > 0) {
-                        ActionRecord r;
-                        synchronized (queue) {
-                            r = queue.poll();
-                        }
-                        try {
-                            r.execute();
-                        } catch (Exception e) {
-                            System.err.println("Action '" + r + "' failed with the following exception: ");
-                            e.printStackTrace(System.err);
-                            System.err.flush();
-                        }
-                        r.setCompleted(true);
+                    size.decrementAndGet();
+                    try {
+                        r.execute();
+                    } catch (Exception e) {
+                        System.err.println("Action '" + r + "' failed with the following exception: ");
+                        e.printStackTrace(System.err);
+                        System.err.flush();
                     }
+                    r.setCompleted();
                 }
             }
         }, "ActionQueue.queueThread");
@@ -77,13 +74,12 @@ class ActionQueue {
     }
 
     public int actionsInQueue() {
-        synchronized(queue) {
-            return queue.size();
-        }
+        return size.get();
     }
 
     public void stop() {
         stop = true;
+        LockSupport.unpark(queueThread);
     }
 
     /**
@@ -94,6 +90,12 @@ class ActionQueue {
         return queueThread;
     }
 
+    private void add(ActionRecord r) {
+        size.incrementAndGet();
+        queue.add(r);
+        LockSupport.unpark(queueThread);
+    }
+
     /**
      * Schedules execution of an action throught the internal ActionQueue queue
      * and exits immediately
@@ -101,10 +103,7 @@ class ActionQueue {
      * @param parameters parameters to pass to action.run() method
      */
     public void invoke(Action action, Object... parameters) {
-        synchronized (queue) {
-            queue.add(new ActionRecord(action, parameters));
-            queue.notifyAll();
-        }
+        add(new ActionRecord(Collections.singletonList(action), parameters));
     }
 
     /**
@@ -114,11 +113,24 @@ class ActionQueue {
      * @param parameters parameters to pass to action.run() method
      */
     public void invokeAndWait(Action action, Object... parameters) {
-        ActionRecord r = new ActionRecord(action, parameters);
-        synchronized (queue) {
-            queue.add(r);
-            queue.notifyAll();
+        invokeAndWait(new ActionRecord(Collections.singletonList(action), parameters));
+    }
+
+    /**
+     * Schedules execution of a number of actions through the internal
+     * ActionQueue queue at once and waits until all of them are completed. The
+     * actions are executed one after another, execution stops on the first
+     * failure.
+     * @param actions actions to execute
+     */
+    public void submitAll(List<? extends Action> actions) {
+        if (!actions.isEmpty()) {
+            invokeAndWait(new ActionRecord(actions, new Object[0]));
         }
+    }
+
+    private void invokeAndWait(ActionRecord r) {
+        add(r);
         r.waitCompleted();
 
         if (r.failed()) {
@@ -128,22 +140,25 @@ class ActionQueue {
 
     private class ActionRecord {
 
-        Action action;
+        final List<? extends Action> actions;
         Object[] parameters;
-        boolean completed;
-        boolean started;
+        volatile Action current;
+        volatile boolean completed;
+        volatile boolean started;
+        volatile Thread waiter;
 
-        public ActionRecord(Action action, Object[] parameters) {
-            this.action = action;
+        public ActionRecord(List<? extends Action> actions, Object[] parameters) {
+            this.actions = actions;
             this.parameters = parameters;
+            this.current = actions.get(0);
         }
 
         public boolean failed() {
-            return action.failed();
+            return current.failed();
         }
 
         public Throwable getThrowable() {
-            return action.getThrowable();
+            return current.getThrowable();
         }
 
         public Object[] getParameters() {
@@ -154,44 +169,71 @@ class ActionQueue {
             return completed;
         }
 
-        public synchronized void setCompleted(boolean completed) {
-            this.completed = completed;
-            notifyAll();
+        public void setCompleted() {
+            completed = true;
+            LockSupport.unpark(waiter);
         }
 
         public void execute() {
-            synchronized (this) {
-                started = true;
-                notifyAll();
-            }
-            try {
-                action.execute(parameters);
-            } catch (Throwable e) {
-                //this is needed for a case when there is a problem with the
-                //Action code itself, not the nested logic
-                action.setThrowable(e);
+            started = true;
+            LockSupport.unpark(waiter);
+            for (Action action : actions) {
+                current = action;
+                try {
+                    action.execute(parameters);
+                } catch (Throwable e) {
+                    //this is needed for a case when there is a problem with the
+                    //Action code itself, not the nested logic
+                    action.setThrowable(e);
+                }
+                if (action.failed()) {
+                    break;
+                }
             }
         }
 
-        public synchronized void waitCompleted() {
-            try {
-                while (!started) {
-                    wait();
+        /**
+         * Waits for the record to be started and then for all the actions to
+         * be completed within their total allowed time. Returns silently if
+         * interrupted.
+         */
+        public void waitCompleted() {
+            waiter = Thread.currentThread();
+            while (!started) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    return;
                 }
-                if (!completed) {
-                    wait(action.getAllowedTime());
-                    if (!completed) {
-                        action.interrupt();
-                        throw new TimeoutExpiredException("Action did not finish in " + action.getAllowedTime() + " ms: " + action);
+            }
+            long allowed = 0;
+            for (Action action : actions) {
+                if (action.getAllowedTime() <= 0) {
+                    allowed = 0;
+                    break;
+                }
+                allowed += action.getAllowedTime();
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(allowed);
+            while (!completed) {
+                if (allowed <= 0) {
+                    LockSupport.park(this);
+                } else {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) {
+                        current.interrupt();
+                        throw new TimeoutExpiredException("Action did not finish in " + allowed + " ms: " + current);
                     }
+                    LockSupport.parkNanos(this, left);
+                }
+                if (Thread.interrupted()) {
+                    return;
                 }
-            } catch (InterruptedException ex) {
             }
         }
 
         @Override
         public String toString() {
-            return action.toString();
+            return current.toString();
         }
     }
 }
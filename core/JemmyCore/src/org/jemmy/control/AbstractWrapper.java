@@ -25,19 +25,36 @@
 package org.jemmy.control;
 
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jemmy.env.Environment;
 
 
 /**
  * This is an implementation of the {@code Wrapper} which instantiates a wrap
- * of a class returned by {@code getWrapClass(Class)}.
+ * of a class returned by {@code getWrapClass(Class)}. The wrap class found for
+ * a control class is remembered, so subclasses need to call
+ * {@code invalidate()} whenever the mapping changes.
  * @author shura
  */
 public abstract class AbstractWrapper implements Wrapper {
 
+    private static final ClassValue<Map<Class<?>, WrapConstructor>> CONSTRUCTORS = new ClassValue<Map<Class<?>, WrapConstructor>>() {
+        @Override
+        protected Map<Class<?>, WrapConstructor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<Class<?>, WrapConstructor>();
+        }
+    };
+
     private Environment env;
+    private final Map<Class<?>, Resolved> resolved = new ConcurrentHashMap<Class<?>, Resolved>();
+    private volatile boolean sharedEnvironment = false;
+    private volatile Environment shared = null;
 
     public AbstractWrapper(Environment env) {
         this.env = env;
@@ -47,37 +64,110 @@ public abstract class AbstractWrapper implements Wrapper {
         return env;
     }
 
-    protected abstract Class<Wrap> getWrapClass(Class controlClass);
+    protected abstract Class<Wrap> getWrapClass(Class<?> controlClass);
+
+    /**
+     * Forgets wrap classes found so far. To be called whenever a result of
+     * {@code getWrapClass(Class)} could change.
+     */
+    protected void invalidate() {
+        resolved.clear();
+    }
+
+    /**
+     * @return true if all the wraps created by this wrapper share one environment
+     * @see #setSharedEnvironment(boolean)
+     */
+    public boolean isSharedEnvironment() {
+        return sharedEnvironment;
+    }
+
+    /**
+     * By default every wrap gets its own child of the wrapper environment. In
+     * shared mode one child environment is used for all the wraps, so
+     * changes made through the environment of one wrap are seen by the
+     * others. This saves an allocation per wrap and is meant for short-lived
+     * wraps such as the ones created by lookup criteria.
+     * @param sharedEnvironment true to share the environment
+     */
+    public void setSharedEnvironment(boolean sharedEnvironment) {
+        this.sharedEnvironment = sharedEnvironment;
+    }
+
+    /**
+     * Gives an environment to a new wrap.
+     * @return a child of the wrapper environment
+     * @see #setSharedEnvironment(boolean)
+     */
+    protected Environment getWrapEnvironment() {
+        if (!sharedEnvironment) {
+            return new Environment(env);
+        }
+        Environment res = shared;
+        if (res == null) {
+            synchronized (this) {
+                if (shared == null) {
+                    shared = new Environment(env);
+                }
+                res = shared;
+            }
+        }
+        return res;
+    }
 
     public <T> Wrap<? extends T> wrap(Class<T> controlClass, T control) {
-        Class cls = control.getClass();
-        Class<Wrap> wrp;
+        Resolved res = resolved.get(control.getClass());
+        if (res == null) {
+            res = resolve(control.getClass());
+            resolved.put(control.getClass(), res);
+        }
+        if (res.wrapClass == null) {
+            throw new WrapperException(control);
+        }
+        Class<?> cls = res.controlClass;
+        Class<Wrap> wrp = res.wrapClass;
+        try {
+            return doWrap(control, cls, wrp);
+        } catch (InstantiationException ex) {
+            throw new WrapperException(cls, wrp, ex);
+        } catch (IllegalAccessException ex) {
+            throw new WrapperException(cls, wrp, ex);
+        } catch (IllegalArgumentException ex) {
+            throw new WrapperException(cls, wrp, ex);
+        } catch (InvocationTargetException ex) {
+            throw new WrapperException(cls, wrp, ex);
+        } catch (NoSuchMethodException ex) {
+            throw new WrapperException(cls, wrp, ex);
+        } catch (SecurityException ex) {
+            throw new WrapperException(cls, wrp, ex);
+        }
+    }
+
+    private Resolved resolve(Class<?> controlClass) {
+        Class<?> cls = controlClass;
         do {
-            wrp = getWrapClass(cls);
+            Class<Wrap> wrp = getWrapClass(cls);
             if (wrp != null) {
-                try {
-                    return doWrap(control, cls, wrp);
-                } catch (InstantiationException ex) {
-                    throw new WrapperException(cls, wrp, ex);
-                } catch (IllegalAccessException ex) {
-                    throw new WrapperException(cls, wrp, ex);
-                } catch (IllegalArgumentException ex) {
-                    throw new WrapperException(cls, wrp, ex);
-                } catch (InvocationTargetException ex) {
-                    throw new WrapperException(cls, wrp, ex);
-                } catch (NoSuchMethodException ex) {
-                    throw new WrapperException(cls, wrp, ex);
-                } catch (SecurityException ex) {
-                    throw new WrapperException(cls, wrp, ex);
-                }
+                return new Resolved(cls, wrp);
             }
         } while ((cls = cls.getSuperclass()) != null);
-        throw new WrapperException(control);
+        return new Resolved(null, null);
     }
 
-    protected <T> Wrap<? extends T> doWrap(T control, Class controlClass, Class wrapperClass) throws NoSuchMethodException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
-        Constructor cns = null;
-        Class cls = controlClass;
+    @SuppressWarnings("unchecked")
+    protected <T> Wrap<? extends T> doWrap(T control, Class<?> controlClass, Class<Wrap> wrapperClass) throws NoSuchMethodException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+        Map<Class<?>, WrapConstructor> constructors = CONSTRUCTORS.get(wrapperClass);
+        WrapConstructor cns = constructors.get(controlClass);
+        if (cns == null) {
+            cns = findConstructor(controlClass, wrapperClass);
+            constructors.put(controlClass, cns);
+        }
+        return (Wrap<T>) cns.newInstance(getWrapEnvironment(), control);
+    }
+
+    private static WrapConstructor findConstructor(Class<?> controlClass, Class<Wrap> wrapperClass) {
+        Constructor<?> cns = null;
+        Class<?> cls = controlClass;
         do {
             try {
                 cns = wrapperClass.getConstructor(Environment.class, cls);
@@ -85,9 +175,54 @@ public abstract class AbstractWrapper implements Wrapper {
             }
         } while ((cls = cls.getSuperclass()) != null);
         if (cns != null) {
-            return (Wrap<T>) cns.newInstance(new Environment(env), control);
+            return new WrapConstructor(cns);
         } else {
             throw new WrapperException(controlClass, wrapperClass);
         }
     }
+
+    private static class Resolved {
+
+        private final Class<?> controlClass;
+        private final Class<Wrap> wrapClass;
+
+        Resolved(Class<?> controlClass, Class<Wrap> wrapClass) {
+            this.controlClass = controlClass;
+            this.wrapClass = wrapClass;
+        }
+    }
+
+    private static class WrapConstructor {
+
+        private final Constructor<?> cns;
+        private final Class<?> controlType;
+        private final MethodHandle handle;
+
+        WrapConstructor(Constructor<?> cns) {
+            this.cns = cns;
+            this.controlType = cns.getParameterTypes()[1];
+            MethodHandle mh = null;
+            try {
+                mh = MethodHandles.publicLookup().unreflectConstructor(cns)
+                        .asType(MethodType.methodType(Object.class, Environment.class, Object.class));
+            } catch (IllegalAccessException e) {
+                //reflection is used then
+            }
+            this.handle = mh;
+        }
+
+        Object newInstance(Environment env, Object control) throws InstantiationException, IllegalAccessException, InvocationTargetException {
+            if (handle == null) {
+                return cns.newInstance(env, control);
+            }
+            if (!controlType.isInstance(control)) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+            try {
+                return handle.invokeExact(env, control);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
 }
@@ -49,10 +49,11 @@ public class LazyWrapper extends AbstractWrapper {
 
     public <P> void add(String controlClass, String wrapperClass) {
         theWrappers.put(controlClass, wrapperClass);
+        invalidate();
     }
 
     @Override
-    protected Class<Wrap> getWrapClass(Class controlClass) {
+    protected Class<Wrap> getWrapClass(Class<?> controlClass) {
         String wrapClassName = theWrappers.get(controlClass.getName());
         if(wrapClassName == null) {
             return null;
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.control;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps property accessors of a class. The class is only scanned once for
+ * methods annotated with {@code @Property} and for {@code @MethodProperties}
+ * and {@code @FieldProperties} annotations. Property names are then resolved
+ * without any further reflective lookup, to method handles for the publicly
+ * accessible members and to the reflective objects for the others.
+ *
+ * @see Wrap#getProperty(java.lang.String)
+ */
+final class PropertyAccessors {
+
+    private static final ClassValue<PropertyAccessors> ACCESSORS = new ClassValue<PropertyAccessors>() {
+        @Override
+        protected PropertyAccessors computeValue(Class<?> type) {
+            return new PropertyAccessors(type);
+        }
+    };
+
+    private static final ClassValue<Map<String, Accessor>> CONTROL_METHODS = new ClassValue<Map<String, Accessor>>() {
+        @Override
+        protected Map<String, Accessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<String, Accessor>();
+        }
+    };
+
+    private static final ClassValue<Map<String, Accessor>> CONTROL_FIELDS = new ClassValue<Map<String, Accessor>>() {
+        @Override
+        protected Map<String, Accessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<String, Accessor>();
+        }
+    };
+
+    /**
+     * Returns accessors of a class, scanning the class on the first call.
+     * @param cls a wrap class or a control interface class
+     * @return the accessors
+     */
+    static PropertyAccessors get(Class<?> cls) {
+        return ACCESSORS.get(cls);
+    }
+
+    private final Map<String, Accessor> properties = new LinkedHashMap<String, Accessor>();
+    private final Set<String> methodProperties = new HashSet<String>();
+    private final Set<String> fieldProperties = new HashSet<String>();
+
+    private PropertyAccessors(Class<?> cls) {
+        Class<?> scls = cls;
+        do {
+            addAnnotated(scls.getMethods());
+            if (scls.isAnnotationPresent(MethodProperties.class)) {
+                Collections.addAll(methodProperties, scls.getAnnotation(MethodProperties.class).value());
+            }
+            if (scls.isAnnotationPresent(FieldProperties.class)) {
+                Collections.addAll(fieldProperties, scls.getAnnotation(FieldProperties.class).value());
+            }
+        } while ((scls = scls.getSuperclass()) != null);
+        for (Class<?> intf : cls.getInterfaces()) {
+            addAnnotated(intf.getMethods());
+        }
+    }
+
+    private void addAnnotated(Method[] methods) {
+        for (Method m : methods) {
+            Property prop = m.getAnnotation(Property.class);
+            if (prop != null && !properties.containsKey(prop.value())) {
+                properties.put(prop.value(), new Accessor(m));
+            }
+        }
+    }
+
+    /**
+     * Returns the method annotated by {@code @Property} with the given name.
+     * @param name property name
+     * @return the method or null if there is no such property
+     */
+    Method getPropertyMethod(String name) {
+        Accessor res = properties.get(name);
+        return (res != null) ? res.method : null;
+    }
+
+    /**
+     * Names of all properties provided by methods annotated with
+     * {@code @Property}.
+     * @return property names in the order they were found
+     */
+    Set<String> getPropertyNames() {
+        return Collections.unmodifiableSet(properties.keySet());
+    }
+
+    /**
+     * Calls a method annotated by {@code @Property}.
+     * @param instance an object to get the property of
+     * @param name property name
+     * @return property value
+     * @throws InvocationTargetException wrapping whatever is thrown by the
+     * method
+     * @throws IllegalArgumentException if there is no such property
+     */
+    Object getProperty(Object instance, String name) throws Exception {
+        Accessor res = properties.get(name);
+        if (res == null) {
+            throw new IllegalArgumentException("No property \"" + name + "\"");
+        }
+        return res.get(instance);
+    }
+
+    /**
+     * @param name property name
+     * @return true if the property is listed in {@code @MethodProperties}
+     */
+    boolean hasMethodProperty(String name) {
+        return methodProperties.contains(name);
+    }
+
+    /**
+     * @param name property name
+     * @return true if the property is listed in {@code @FieldProperties}
+     */
+    boolean hasFieldProperty(String name) {
+        return fieldProperties.contains(name);
+    }
+
+    /**
+     * Calls a public method with no parameters of a control.
+     * @param control the control
+     * @param name method name
+     * @return the method result
+     * @throws InvocationTargetException wrapping whatever is thrown by the
+     * method
+     * @throws Exception whatever is thrown while looking the method up
+     */
+    static Object getMethodProperty(Object control, String name) throws Exception {
+        return getMethodAccessor(control.getClass(), name).get(control);
+    }
+
+    static Accessor getMethodAccessor(Class<?> cls, String name) throws NoSuchMethodException {
+        Map<String, Accessor> methods = CONTROL_METHODS.get(cls);
+        Accessor res = methods.get(name);
+        if (res == null) {
+            res = new Accessor(cls.getMethod(name));
+            methods.put(name, res);
+        }
+        return res;
+    }
+
+    /**
+     * Reads a public field of a control.
+     * @param control the control
+     * @param name field name
+     * @return the field value
+     * @throws Exception whatever is thrown while looking the field up
+     */
+    static Object getFieldProperty(Object control, String name) throws Exception {
+        Map<String, Accessor> fields = CONTROL_FIELDS.get(control.getClass());
+        Accessor res = fields.get(name);
+        if (res == null) {
+            res = new Accessor(control.getClass().getField(name));
+            fields.put(name, res);
+        }
+        return res.get(control);
+    }
+
+    static class Accessor {
+
+        private final Method method;
+        private final Field field;
+        private final MethodHandle handle;
+
+        Accessor(Method method) {
+            this.method = method;
+            this.field = null;
+            MethodHandle mh = null;
+            if (method.getParameterTypes().length == 0 && !Modifier.isStatic(method.getModifiers())) {
+                try {
+                    mh = MethodHandles.publicLookup().unreflect(method)
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                } catch (IllegalAccessException e) {
+                    //reflection is used then
+                }
+            }
+            this.handle = mh;
+        }
+
+        Accessor(Field field) {
+            this.method = null;
+            this.field = field;
+            MethodHandle mh = null;
+            if (!Modifier.isStatic(field.getModifiers())) {
+                try {
+                    mh = MethodHandles.publicLookup().unreflectGetter(field)
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                } catch (IllegalAccessException e) {
+                    //reflection is used then
+                }
+            }
+            this.handle = mh;
+        }
+
+        /**
+         * Whether the value is read through core reflection, which is the
+         * case when the member is not publicly accessible.
+         */
+        boolean isReflective() {
+            return handle == null;
+        }
+
+        /**
+         * Reads the value. Whatever is thrown by a method is wrapped in
+         * {@code InvocationTargetException} on both the method handle and
+         * the reflection path.
+         */
+        Object get(Object instance) throws Exception {
+            if (handle == null) {
+                return (field != null) ? field.get(instance) : method.invoke(instance);
+            }
+            try {
+                return handle.invokeExact(instance);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+}
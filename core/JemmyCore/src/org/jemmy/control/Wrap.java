@@ -36,6 +36,7 @@ import org.jemmy.env.Environment;
 import org.jemmy.env.TestOut;
 import org.jemmy.env.Timeout;
 import org.jemmy.image.Image;
+import org.jemmy.image.pixel.PackedRaster;
 import org.jemmy.interfaces.*;
 import org.jemmy.timing.State;
 
@@ -218,29 +219,67 @@ public abstract class Wrap<CONTROL extends Object> {
      * saved if null.
      */
     public void waitImage(final Image golden, final Rectangle rect, String resID, String diffID) {
+        ImageState state = new ImageState(golden, rect);
         try {
-            waitState(new State<Object>() {
-
-                public Object reached() {
-                    return (getScreenImage(rect).compareTo(golden) == null) ? true : null;
-                }
-
-                @Override
-                public String toString() {
-                    return "Control having expected image";
-                }
-            });
+            waitState(state);
         } catch (TimeoutExpiredException e) {
             if (diffID != null) {
                 getEnvironment().getOutput(OUTPUT).println("Saving difference to " + diffID);
-                getScreenImage(rect).compareTo(golden).save(diffID);
+                state.getDiff().save(diffID);
             }
             throw e;
         } finally {
             if (resID != null) {
                 getEnvironment().getOutput(OUTPUT).println("Saving result to " + resID);
-                getScreenImage(rect).save(resID);
+                state.getImage().save(resID);
+            }
+        }
+    }
+
+    /**
+     * Compares captured images with the golden one. Captures of
+     * {@code PackedRaster} type are fingerprinted and not compared again
+     * unless they have changed since the previous poll. The last capture and
+     * difference are kept to be saved once the wait is over.
+     */
+    private class ImageState implements State<Object> {
+
+        private final Image golden;
+        private final Rectangle rect;
+        private Image image = null;
+        private Image diff = null;
+        private Long fingerprint = null;
+
+        ImageState(Image golden, Rectangle rect) {
+            this.golden = golden;
+            this.rect = rect;
+        }
+
+        public Object reached() {
+            Image capture = getScreenImage(rect);
+            Long print = (capture instanceof PackedRaster) ? ((PackedRaster) capture).fingerprint() : null;
+            if (image == null || print == null || !print.equals(fingerprint)) {
+                diff = capture.compareTo(golden);
+            }
+            image = capture;
+            fingerprint = print;
+            return (diff == null) ? true : null;
+        }
+
+        Image getImage() {
+            return (image != null) ? image : getScreenImage(rect);
+        }
+
+        Image getDiff() {
+            if (image == null || diff == null) {
+                return getImage().compareTo(golden);
             }
+            return diff;
+        }
+
+        @Override
+        public String toString() {
+            return "Control having expected image";
         }
     }
 
@@ -538,38 +577,25 @@ public abstract class Wrap<CONTROL extends Object> {
         } while ((cls = cls.getSuperclass()) != null);
     }
 
-    private void addAnnotationProps(Class cls, boolean quiet) {
-        for (Method m : cls.getMethods()) {
-            if (m.isAnnotationPresent(Property.class)) {
-                String name = m.getAnnotation(Property.class).value();
-                if (!properties.containsKey(name)) {
-                    Object value;
-                    try {
-                        value = getProperty(this, m);
-                    } catch (Exception e) {
-                        if (quiet) {
-                            getEnvironment().getOutput().printStackTrace(e);
-                            value = e.toString();
-                        } else {
-                            throw new JemmyException("Exception while getting property \"" + name + "\"", e);
-                        }
+    private void readAnnotationProps(boolean quiet) {
+        for (String name : PropertyAccessors.get(getClass()).getPropertyNames()) {
+            if (!properties.containsKey(name)) {
+                Object value;
+                try {
+                    value = getProperty(this, getClass(), name);
+                } catch (Exception e) {
+                    if (quiet) {
+                        getEnvironment().getOutput().printStackTrace(e);
+                        value = e.toString();
+                    } else {
+                        throw new JemmyException("Exception while getting property \"" + name + "\"", e);
                     }
-                    properties.put(name, value);
                 }
+                properties.put(name, value);
             }
         }
     }
 
-    private void readAnnotationProps(boolean quiet) {
-        Class cls = getClass();
-        do {
-            addAnnotationProps(cls, quiet);
-        } while ((cls = cls.getSuperclass()) != null);
-        for (Class intf : getClass().getInterfaces()) {
-            addAnnotationProps(intf, quiet);
-        }
-    }
-
     private void checkPropertyMethod(Method m) {
         if (m.getParameterTypes().length > 0) {
             throw new JemmyException("Method marked by @Property must not have parameters: "
@@ -578,36 +604,18 @@ public abstract class Wrap<CONTROL extends Object> {
     }
 
     private Method getPropertyMethod(Class cls, String name) {
-        Class scls = cls;
-        do {
-            for (Method m : scls.getMethods()) {
-                if (m.isAnnotationPresent(Property.class) && m.getAnnotation(Property.class).value().equals(name)) {
-                    checkPropertyMethod(m);
-                    return m;
-                }
-            }
-        } while ((scls = scls.getSuperclass()) != null);
-        for (Class intf : cls.getInterfaces()) {
-            for (Method m : intf.getMethods()) {
-                if (m.isAnnotationPresent(Property.class) && m.getAnnotation(Property.class).value().equals(name)) {
-                    checkPropertyMethod(m);
-                    return m;
-                }
-            }
+        Method m = PropertyAccessors.get(cls).getPropertyMethod(name);
+        if (m != null) {
+            checkPropertyMethod(m);
         }
-        return null;
+        return m;
     }
 
-    private Object getProperty(Object object, Method m) {
-        Property prop = m.getAnnotation(Property.class);
+    private Object getProperty(Object object, Class cls, String name) {
         try {
-            return m.invoke(object);
-        } catch (IllegalAccessException ex) {
-            throw new JemmyException("Unable to obtain property \"" + ((prop != null) ? prop.value() : "null") + "\"", ex, this);
-        } catch (IllegalArgumentException ex) {
-            throw new JemmyException("Unable to obtain property \"" + ((prop != null) ? prop.value() : "null") + "\"", ex, this);
-        } catch (InvocationTargetException ex) {
-            throw new JemmyException("Unable to obtain property \"" + ((prop != null) ? prop.value() : "null") + "\"", ex, this);
+            return PropertyAccessors.get(cls).getProperty(object, name);
+        } catch (Exception ex) {
+            throw new JemmyException("Unable to obtain property \"" + name + "\"", ex, this);
         }
     }
 
@@ -630,9 +638,8 @@ public abstract class Wrap<CONTROL extends Object> {
         if (WRAPPER_CLASS_PROP_NAME.equals(name)) {
             return getClass();
         }
-        Method m = getPropertyMethod(this.getClass(), name);
-        if (m != null) {
-            return getProperty(this, m);
+        if (getPropertyMethod(getClass(), name) != null) {
+            return getProperty(this, getClass(), name);
         }
         if (hasMethodProperty(name)) {
             return getMethodProperty(name);
@@ -644,9 +651,8 @@ public abstract class Wrap<CONTROL extends Object> {
     }
 
     private Object getInterfaceProperty(Class cls, Object instance, String name) {
-        Method m = getPropertyMethod(cls, name);
-        if (m != null) {
-            return getProperty(instance, m);
+        if (getPropertyMethod(cls, name) != null) {
+            return getProperty(instance, cls, name);
         }
         throw new JemmyException("No property \"" + name + "\" in interface " + cls.getName(), instance);
     }
@@ -753,39 +759,11 @@ public abstract class Wrap<CONTROL extends Object> {
     }
 
     public boolean hasFieldProperty(String name) {
-        Class<?> cls = getClass();
-        do {
-            if (cls.isAnnotationPresent(FieldProperties.class)) {
-                FieldProperties props = cls.getAnnotation(FieldProperties.class);
-                if (contains(props.value(), name)) {
-                    return true;
-                }
-            }
-        } while ((cls = cls.getSuperclass()) != null);
-        return false;
+        return PropertyAccessors.get(getClass()).hasFieldProperty(name);
     }
 
     public boolean hasMethodProperty(String name) {
-        Class<?> cls = getClass();
-        do {
-            if (cls.isAnnotationPresent(MethodProperties.class)) {
-                MethodProperties props = cls.getAnnotation(MethodProperties.class);
-                if (contains(props.value(), name)) {
-                    return true;
-                }
-            }
-        } while ((cls = cls.getSuperclass()) != null);
-        return false;
-    }
-
-    private boolean contains(String[] values, String name) {
-        for (int i = 0; i < values.length; i++) {
-            if (name.equals(values[i])) {
-                return true;
-            }
-
-        }
-        return false;
+        return PropertyAccessors.get(getClass()).hasMethodProperty(name);
     }
 
     public Object getFieldProperty(final String name) {
@@ -796,7 +774,7 @@ public abstract class Wrap<CONTROL extends Object> {
 
             @Override
             public void run(Object... parameters) throws Exception {
-                setResult(getControl().getClass().getField(name).get(getControl()));
+                setResult(PropertyAccessors.getFieldProperty(getControl(), name));
             }
         };
         Object result = action.dispatch(env);
@@ -814,7 +792,7 @@ public abstract class Wrap<CONTROL extends Object> {
 
             @Override
             public void run(Object... parameters) throws Exception {
-                setResult(getControl().getClass().getMethod(name).invoke(getControl()));
+                setResult(PropertyAccessors.getMethodProperty(getControl(), name));
             }
 
             @Override
@@ -45,13 +45,14 @@ public class WrapperImpl extends AbstractWrapper {
 
     public <P> void add(Class controlClass, Class<Wrap> wrapperClass) {
         theWrappers.put(controlClass, wrapperClass);
+        invalidate();
         // TODO: Improve output
 //        getEnvironment().getOutput().println("Added \"" + wrapperClass.getName() + "\"" +
 //                " wrapper for \"" + controlClass.getName() + "\" control type");
     }
 
     @Override
-    protected Class<Wrap> getWrapClass(Class controlClass) {
+    protected Class<Wrap> getWrapClass(Class<?> controlClass) {
         return theWrappers.get(controlClass);
     }
 
@@ -28,10 +28,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jemmy.JemmyException;
 import org.jemmy.action.ActionExecutor;
 import org.jemmy.action.DefaultExecutor;
@@ -52,6 +54,12 @@ public class Environment {
      * Information output for Environment class
      */
     public static final String OUTPUT = Environment.class.getName() + ".OUTPUT";
+    private static final Object MISSING = new Object();
+    /**
+     * Counts changes made to all environments. A cached inherited value is
+     * reused without checking the ancestors while the count stays the same.
+     */
+    private static final AtomicLong modifications = new AtomicLong();
     private final static Environment env = new Environment(null);
 
     public static Environment getEnvironment() {
@@ -62,12 +70,22 @@ public class Environment {
         env.setOutput(new TestOut(System.in, System.out, System.err));
         env.setExecutor(new DefaultExecutor());
     }
-    private HashMap<PropertyKey, Object> environment = new HashMap<PropertyKey, Object>();
-    private Environment parent;
+    private final Map<PropertyKey<?>, Object> environment = new ConcurrentHashMap<PropertyKey<?>, Object>();
+    /**
+     * Values found in the ancestors, created on the first such lookup.
+     */
+    private volatile Map<PropertyKey<?>, Inherited> inherited = null;
+    /**
+     * Counts changes made to this environment. Values inherited from parent
+     * environments are only reused while the versions of this environment
+     * and of all its ancestors stay the same. The versions are only compared
+     * once some environment has changed.
+     */
+    private final AtomicLong version = new AtomicLong();
+    private volatile Environment parent;
 
     public Environment(Environment parent) {
         this.parent = parent;
-        environment = new HashMap<PropertyKey, Object>();
         if (parent == null) {
             loadProperties(System.getProperty(JEMMY_PROPERTIES_FILE_PROPERTY));
         }
@@ -83,6 +101,7 @@ public class Environment {
 
     public void setParentEnvironment(Environment parent) {
         this.parent = parent;
+        changed();
     }
 
     public void loadProperties(String propFileName) {
@@ -128,9 +147,9 @@ public class Environment {
     }
 
     public List<?> get(Class cls) {
-        Set<PropertyKey> all = environment.keySet();
+        Set<PropertyKey<?>> all = environment.keySet();
         ArrayList<Object> result = new ArrayList<Object>();
-        for (PropertyKey key : all) {
+        for (PropertyKey<?> key : all) {
             if (key.getCls().equals(cls)) {
                 result.add(environment.get(key));
             }
@@ -174,16 +193,58 @@ public class Environment {
 
     @SuppressWarnings("unchecked")
     public <T> T getProperty(Class cls, Object ref, T defaultValue) {
-        for (PropertyKey pk : environment.keySet()) {
-            if (pk.equals(new PropertyKey(cls, ref))) {
-                return (T) environment.get(pk);
+        Object res = lookup(new PropertyKey<Object>(cls, ref));
+        return (res != null) ? (T) res : defaultValue;
+    }
+
+    private Object lookup(PropertyKey<?> key) {
+        Object res = environment.get(key);
+        if (res != null || parent == null) {
+            return res;
+        }
+        Map<PropertyKey<?>, Inherited> cache = getInherited();
+        Inherited cached = cache.get(key);
+        if (cached == null || !cached.isValid(this)) {
+            // versions are taken first so that a concurrent change
+            // invalidates the value
+            long stamp = modifications.get();
+            long[] versions = getVersions();
+            Environment p = parent;
+            res = (p != null) ? p.lookup(key) : null;
+            cached = new Inherited(stamp, versions, (res != null) ? res : MISSING);
+            cache.put(key, cached);
+        }
+        return (cached.value != MISSING) ? cached.value : null;
+    }
+
+    private Map<PropertyKey<?>, Inherited> getInherited() {
+        Map<PropertyKey<?>, Inherited> res = inherited;
+        if (res == null) {
+            synchronized (this) {
+                res = inherited;
+                if (res == null) {
+                    res = new ConcurrentHashMap<PropertyKey<?>, Inherited>();
+                    inherited = res;
+                }
             }
         }
-        if (getParentEnvironment() != null) {
-            return getParentEnvironment().getProperty(cls, ref, defaultValue);
-        } else {
-            return defaultValue;
+        return res;
+    }
+
+    /**
+     * Versions of this environment and of its ancestors, nearest first.
+     */
+    private long[] getVersions() {
+        int depth = 0;
+        for (Environment e = this; e != null; e = e.parent) {
+            depth++;
+        }
+        long[] res = new long[depth];
+        Environment e = this;
+        for (int i = 0; i < depth && e != null; i++, e = e.parent) {
+            res[i] = e.version.get();
         }
+        return res;
     }
 
     /**
@@ -232,13 +293,22 @@ public class Environment {
     }
 
     private <T> T setProperty(PropertyKey<T> key, Object value) {
-        if (value == null) {
-            return key.cls.cast(environment.remove(key));
-        } else {
-            return key.cls.cast(environment.put(key, value));
+        try {
+            if (value == null) {
+                return key.cls.cast(environment.remove(key));
+            } else {
+                return key.cls.cast(environment.put(key, value));
+            }
+        } finally {
+            changed();
         }
     }
 
+    private void changed() {
+        version.incrementAndGet();
+        modifications.incrementAndGet();
+    }
+
     private <T> T setPropertyIfNotSet(PropertyKey<T> key, T value) {
         if (getParentEnvironment() != null) {
             T res = key.cls.cast(getParentEnvironment().getProperty(key));
@@ -248,13 +318,13 @@ public class Environment {
         }
         T res = key.cls.cast(environment.get(key));
         if (res == null) {
-            return key.cls.cast(environment.put(key, value));
+            return setProperty(key, value);
         } else {
             return res;
         }
     }
 
-    private Object getProperty(PropertyKey key) {
+    private Object getProperty(PropertyKey<?> key) {
         return environment.get(key);
     }
 
@@ -311,8 +381,18 @@ public class Environment {
         return getWaiter(timeout.getName());
     }
 
+    /**
+     * Creates a waiter for the timeout. Polling starts at
+     * {@code Waiter.MIN_DELTA}, as set in the environment or 1 millisecond by
+     * default, and grows up to {@code Waiter.DEFAULT_DELTA}.
+     *
+     * @param timeoutName name of the wait timeout
+     * @return a new waiter
+     */
     public Waiter getWaiter(String timeoutName) {
-        return new Waiter(getTimeout(timeoutName));
+        Timeout minDelta = getTimeout(Waiter.MIN_DELTA);
+        return new Waiter(getTimeout(timeoutName), Waiter.DEFAULT_DELTA,
+                (minDelta != null) ? minDelta : Waiter.MIN_DELTA);
     }
 
     public Timeout getTimeout(Timeout timeout) {
@@ -453,6 +533,47 @@ public class Environment {
         return (ControlInterfaceFactory) setProperty(ControlInterfaceFactory.class, factory);
     }
 
+    private static class Inherited {
+
+        private final long[] versions;
+        private final Object value;
+        /**
+         * Value of the modification count the versions were last checked at.
+         */
+        private volatile long checked;
+
+        Inherited(long checked, long[] versions, Object value) {
+            this.checked = checked;
+            this.versions = versions;
+            this.value = value;
+        }
+
+        /**
+         * The value is still valid if neither the environment nor any of its
+         * ancestors has changed since. A changed parent changes the version
+         * of the child, so the ancestors are the same ones then. Nothing has
+         * changed while the modification count stays the same, so the
+         * versions are only compared after a change somewhere.
+         */
+        boolean isValid(Environment env) {
+            long stamp = modifications.get();
+            if (stamp == checked) {
+                return true;
+            }
+            int i = 0;
+            for (Environment e = env; e != null; e = e.parent, i++) {
+                if (i == versions.length || e.version.get() != versions[i]) {
+                    return false;
+                }
+            }
+            if (i != versions.length) {
+                return false;
+            }
+            checked = stamp;
+            return true;
+        }
+    }
+
     private static class PropertyKey<TYPE> {
 
         private Class<TYPE> cls;
@@ -483,7 +604,7 @@ public class Environment {
             if (getClass() != obj.getClass()) {
                 return false;
             }
-            final PropertyKey other = (PropertyKey) obj;
+            final PropertyKey<?> other = (PropertyKey<?>) obj;
             if (this.cls != other.cls && (this.cls == null || !this.cls.equals(other.cls))) {
                 return false;
             }
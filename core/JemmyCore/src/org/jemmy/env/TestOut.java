@@ -30,6 +30,14 @@ import java.io.InputStreamReader;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  *
@@ -44,6 +52,7 @@ public class TestOut {
     private PrintWriter errput;
     private BufferedReader buffInput;
     private boolean autoFlushMode = true;
+    private volatile ThreadPoolExecutor writer = null;
 
     /**
      * Constructor.
@@ -125,6 +134,95 @@ public class TestOut {
         return (autoFlushMode);
     }
 
+    /**
+     * Tells whether anything printed into output would be printed anywhere.
+     * Use this to avoid building messages which are going to be discarded.
+     * @return true if there is an output stream.
+     */
+    public boolean isEnabled() {
+        return output != null;
+    }
+
+    /**
+     * Tells whether anything printed into error output would be printed
+     * anywhere.
+     * @return true if there is an error stream.
+     */
+    public boolean isErrEnabled() {
+        return errput != null;
+    }
+
+    /**
+     * Switches asynchronous mode. In asynchronous mode lines are buffered and
+     * written by a separate thread, so printing does not wait for the streams.
+     * The order of the lines is preserved, flushing happens once the buffer is
+     * empty. Switching the mode off writes all the buffered lines. The writer
+     * thread is not a daemon, so the lines still buffered are written before
+     * the JVM exits; the thread stops after a second without output and does
+     * not keep the JVM running.
+     * @param asyncMode If true the output is written asynchronously.
+     * @return Old value of the asynchronous mode.
+     * @see #flush()
+     */
+    public synchronized boolean setAsyncMode(boolean asyncMode) {
+        boolean oldValue = getAsyncMode();
+        if (asyncMode && writer == null) {
+            writer = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    return new Thread(r, "TestOut.writer");
+                }
+            });
+            writer.allowCoreThreadTimeOut(true);
+        } else if (!asyncMode && writer != null) {
+            flush();
+            writer.shutdown();
+            writer = null;
+        }
+        return (oldValue);
+    }
+
+    /**
+     * Says if the output is written asynchronously.
+     * @return Value of the asynchronous mode.
+     * @see #setAsyncMode
+     */
+    public boolean getAsyncMode() {
+        return (writer != null);
+    }
+
+    private void write(final PrintWriter stream, final Object text, final boolean newLine) {
+        ThreadPoolExecutor w = writer;
+        if (w == null) {
+            doWrite(stream, text, newLine, autoFlushMode);
+        } else {
+            final BlockingQueue<Runnable> pending = w.getQueue();
+            try {
+                w.execute(new Runnable() {
+                    public void run() {
+                        doWrite(stream, text, newLine, autoFlushMode && pending.isEmpty());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                //async mode has just been switched off
+                doWrite(stream, text, newLine, autoFlushMode);
+            }
+        }
+    }
+
+    private static void doWrite(PrintWriter stream, Object text, boolean newLine, boolean flush) {
+        if (text instanceof Throwable) {
+            ((Throwable) text).printStackTrace(stream);
+        } else if (newLine) {
+            stream.println(text);
+        } else {
+            stream.print(text);
+        }
+        if (flush) {
+            stream.flush();
+        }
+    }
+
     /**
      * Read one byte from input.
      * @return an int from input stream.
@@ -157,7 +255,23 @@ public class TestOut {
      */
     public void print(String line) {
         if (output != null) {
-            output.print(line);
+            if (writer == null) {
+                output.print(line);
+            } else {
+                write(output, line, false);
+            }
+        }
+    }
+
+    /**
+     * Prints a line into output. The line is only built if the output is
+     * enabled.
+     * @param line supplies a string to print into output stream.
+     * @see #isEnabled()
+     */
+    public void printLazy(Supplier<String> line) {
+        if (output != null) {
+            print(line.get());
         }
     }
 
@@ -167,10 +281,19 @@ public class TestOut {
      */
     public void println(String line) {
         if (output != null) {
-            output.println(line);
-            if (autoFlushMode) {
-                output.flush();
-            }
+            write(output, line, true);
+        }
+    }
+
+    /**
+     * Prints a line and then terminate the line by writing the line separator
+     * string. The line is only built if the output is enabled.
+     * @param line supplies a string to print into output stream.
+     * @see #isEnabled()
+     */
+    public void printlnLazy(Supplier<String> line) {
+        if (output != null) {
+            println(line.get());
         }
     }
 
@@ -180,10 +303,19 @@ public class TestOut {
      */
     public void printerrln(String line) {
         if (errput != null) {
-            errput.println(line);
-            if (autoFlushMode) {
-                errput.flush();
-            }
+            write(errput, line, true);
+        }
+    }
+
+    /**
+     * Prints a line into error output. The line is only built if the error
+     * output is enabled.
+     * @param line supplies a string to print into error output stream.
+     * @see #isErrEnabled()
+     */
+    public void printerrlnLazy(Supplier<String> line) {
+        if (errput != null) {
+            printerrln(line.get());
         }
     }
 
@@ -215,10 +347,7 @@ public class TestOut {
      */
     public void printStackTrace(Throwable e) {
         if (errput != null) {
-            e.printStackTrace(errput);
-            if (autoFlushMode) {
-                errput.flush();
-            }
+            write(errput, e, true);
         }
     }
 
@@ -255,9 +384,23 @@ public class TestOut {
     }
 
     /**
-     * Flushes all output threads.
+     * Flushes all output threads. In asynchronous mode waits for the buffered
+     * lines to be written first.
      */
     public void flush() {
+        ThreadPoolExecutor w = writer;
+        if (w != null) {
+            try {
+                w.submit(new Runnable() {
+                    public void run() {
+                    }
+                }).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+            } catch (RejectedExecutionException e) {
+            }
+        }
         if (output != null) {
             output.flush();
         }
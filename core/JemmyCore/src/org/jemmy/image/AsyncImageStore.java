@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jemmy.JemmyException;
+
+/**
+ * Saves images in background threads. {@code save(Image, String)} queues an
+ * image for another store to save and returns immediately unless too many
+ * images are already queued, in which case it waits for the queue to drain.
+ * Images are not supposed to be modified after they are queued.
+ * <p>
+ * Failures are reported by {@code flush()}, which should be called before
+ * the saved images are used, for instance once a test or the whole suite is
+ * over. The writer threads do not prevent the virtual machine from exiting
+ * while idle, but they complete the queued images before it exits.
+ */
+public class AsyncImageStore implements ImageStore {
+
+    /**
+     * Default number of writer threads.
+     */
+    public static final int DEFAULT_THREADS = 2;
+    /**
+     * Default number of images which could wait to be saved.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    private final ImageStore store;
+    private final int threads;
+    private final int capacity;
+    private final ThreadPoolExecutor writer;
+    private final Semaphore queued;
+    private int pending = 0;
+    private Exception failure = null;
+    private String failedID = null;
+
+    /**
+     * @param store the store which saves the images
+     * @param threads number of writer threads
+     * @param capacity number of images which could be queued before
+     * {@code save(Image, String)} starts to wait
+     */
+    public AsyncImageStore(ImageStore store, int threads, int capacity) {
+        if (threads <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Positive number of threads and capacity expected");
+        }
+        this.store = store;
+        this.threads = threads;
+        this.capacity = capacity;
+        queued = new Semaphore(capacity);
+        final int id = counter.incrementAndGet();
+        writer = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger number = new AtomicInteger();
+
+            public Thread newThread(Runnable r) {
+                return new Thread(r, "AsyncImageStore-" + id + "-" + number.incrementAndGet());
+            }
+        });
+        writer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Uses {@code DEFAULT_THREADS} and {@code DEFAULT_CAPACITY}.
+     * @param store the store which saves the images
+     */
+    public AsyncImageStore(ImageStore store) {
+        this(store, DEFAULT_THREADS, DEFAULT_CAPACITY);
+    }
+
+    public ImageStore getStore() {
+        return store;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Queues an image to be saved.
+     * @param image the image
+     * @param id the image ID, as expected by the underlying store
+     * @throws InterruptedException if interrupted while waiting for the queue
+     * to drain
+     */
+    public void save(final Image image, final String id) throws InterruptedException {
+        queued.acquire();
+        synchronized (this) {
+            pending++;
+        }
+        writer.execute(new Runnable() {
+            public void run() {
+                try {
+                    store.save(image, id);
+                } catch (Exception e) {
+                    synchronized (AsyncImageStore.this) {
+                        if (failure == null) {
+                            failure = e;
+                            failedID = id;
+                        }
+                    }
+                } finally {
+                    queued.release();
+                    synchronized (AsyncImageStore.this) {
+                        pending--;
+                        AsyncImageStore.this.notifyAll();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @return number of images queued or being saved
+     */
+    public synchronized int getPending() {
+        return pending;
+    }
+
+    /**
+     * Waits for all the queued images to be saved.
+     * @throws JemmyException if an image has failed to be saved since the
+     * previous call
+     */
+    public void flush() {
+        Exception e;
+        String id;
+        synchronized (this) {
+            while (pending > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new JemmyException("Interrupted while saving images", ex);
+                }
+            }
+            e = failure;
+            id = failedID;
+            failure = null;
+            failedID = null;
+        }
+        if (e != null) {
+            throw new JemmyException("Unable to save image", e, id);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import org.jemmy.Dimension;
+import org.jemmy.image.pixel.Raster;
+
+/**
+ * Keeps images loaded by another loader so that every golden image is only
+ * decoded once. Images are keyed by the resolved resource and its
+ * modification time if the loader is a {@code ResolvingImageLoader}, by the
+ * ID otherwise. The least recently used images are evicted when the total
+ * size of the cached images exceeds the budget.
+ * <p>
+ * The same instance is returned for every load of an image, so the loaded
+ * images are not supposed to be modified.
+ *
+ * @see ResolvingImageLoader
+ */
+public class CachingImageLoader implements ImageLoader {
+
+    /**
+     * Default cache size, in bytes.
+     */
+    public static final long DEFAULT_BUDGET = 64 * 1024 * 1024;
+
+    private final ImageLoader loader;
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+    private final ReferenceQueue<Image> cleared = new ReferenceQueue<Image>();
+    private long budget;
+    private long size = 0;
+    private boolean softReferences = false;
+
+    /**
+     * @param loader the loader to load images with
+     * @param budget maximum total size of the cached images, in bytes
+     */
+    public CachingImageLoader(ImageLoader loader, long budget) {
+        this.loader = loader;
+        this.budget = budget;
+    }
+
+    /**
+     * Creates a loader with the {@code DEFAULT_BUDGET}.
+     * @param loader the loader to load images with
+     */
+    public CachingImageLoader(ImageLoader loader) {
+        this(loader, DEFAULT_BUDGET);
+    }
+
+    public ImageLoader getLoader() {
+        return loader;
+    }
+
+    public synchronized long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Changes the cache size, evicting images if needed.
+     * @param budget maximum total size of the cached images, in bytes
+     */
+    public synchronized void setBudget(long budget) {
+        this.budget = budget;
+        evict();
+    }
+
+    public synchronized boolean isSoftReferences() {
+        return softReferences;
+    }
+
+    /**
+     * Whether images are kept through soft references, so that the garbage
+     * collector could free them before they are evicted. Only affects images
+     * loaded afterwards.
+     * @param softReferences true to use soft references
+     */
+    public synchronized void setSoftReferences(boolean softReferences) {
+        this.softReferences = softReferences;
+    }
+
+    /**
+     * @return total size of the cached images, in bytes
+     */
+    public synchronized long getSize() {
+        purge();
+        return size;
+    }
+
+    /**
+     * Removes all images from the cache.
+     */
+    public synchronized void clear() {
+        cache.clear();
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Image load(String ID) {
+        String key = ID;
+        long modified = 0;
+        if (loader instanceof ResolvingImageLoader) {
+            key = ((ResolvingImageLoader) loader).resolve(ID);
+            modified = ((ResolvingImageLoader) loader).lastModified(ID);
+        }
+        synchronized (this) {
+            Entry entry = cache.get(key);
+            if (entry != null) {
+                Image res = entry.get();
+                if (res != null && entry.modified == modified) {
+                    return res;
+                }
+                remove(key);
+            }
+        }
+        Image res = loader.load(ID);
+        long weight = weigh(res);
+        synchronized (this) {
+            if (weight <= budget) {
+                Entry entry = softReferences ? new Entry(key, res, modified, weight, cleared)
+                        : new Entry(key, res, modified, weight, null);
+                Entry old = cache.put(key, entry);
+                if (old != null) {
+                    size -= old.weight;
+                }
+                size += weight;
+                evict();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Estimates memory taken by an image. Rasters are supposed to take four
+     * bytes per pixel, other images are not counted.
+     * @param image the image
+     * @return the size in bytes
+     */
+    protected long weigh(Image image) {
+        if (image instanceof Raster) {
+            Dimension dim = ((Raster) image).getSize();
+            return 4L * dim.width * dim.height;
+        }
+        return 0;
+    }
+
+    private void remove(String key) {
+        Entry entry = cache.remove(key);
+        if (entry != null) {
+            size -= entry.weight;
+        }
+    }
+
+    /**
+     * Drops the entries which images were freed by the garbage collector, so
+     * that they are not counted in the size.
+     */
+    private void purge() {
+        ImageReference reference;
+        while ((reference = (ImageReference) cleared.poll()) != null) {
+            Entry entry = reference.entry;
+            if (cache.remove(entry.key, entry)) {
+                size -= entry.weight;
+            }
+        }
+    }
+
+    private void evict() {
+        purge();
+        Iterator<Entry> it = cache.values().iterator();
+        while (size > budget && it.hasNext()) {
+            size -= it.next().weight;
+            it.remove();
+        }
+    }
+
+    private static class Entry {
+
+        private final String key;
+        private final Image image;
+        private final ImageReference reference;
+        private final long modified;
+        private final long weight;
+
+        /**
+         * @param queue the queue to register a soft reference with, or null
+         * to keep the image itself
+         */
+        Entry(String key, Image image, long modified, long weight, ReferenceQueue<Image> queue) {
+            this.key = key;
+            this.image = (queue == null) ? image : null;
+            this.reference = (queue == null) ? null : new ImageReference(image, queue, this);
+            this.modified = modified;
+            this.weight = weight;
+        }
+
+        Image get() {
+            return (reference != null) ? reference.get() : image;
+        }
+    }
+
+    private static class ImageReference extends SoftReference<Image> {
+
+        private final Entry entry;
+
+        ImageReference(Image image, ReferenceQueue<Image> queue, Entry entry) {
+            super(image, queue);
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image;
+
+/**
+ * An image loader which could tell what resource an image ID points to and
+ * when the resource has been modified. This allows to cache loaded images.
+ *
+ * @see CachingImageLoader
+ */
+public interface ResolvingImageLoader extends ImageLoader {
+
+    /**
+     * Finds a resource to load an image from.
+     * @param ID image ID, as passed to {@code load(String)}
+     * @return the resource identity, such as a full file path or an URL. IDs
+     * pointing to the same resource are resolved to equal strings.
+     */
+    String resolve(String ID);
+
+    /**
+     * @param ID image ID, as passed to {@code load(String)}
+     * @return last modification time of the resource the ID points to, 0 if
+     * unknown
+     */
+    long lastModified(String ID);
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image;
+
+import org.jemmy.Rectangle;
+
+/**
+ * An image capturer which could capture any area of the screen and cut
+ * parts out of the captured images cheaply. Such a capturer allows to
+ * capture the screen once and then take images of many controls out of the
+ * capture.
+ *
+ * @see org.jemmy.lookup.ImageLookup
+ */
+public interface ScreenCapturer extends ImageCapturer {
+
+    /**
+     * @return the area covering all the screens, in screen coordinates
+     */
+    Rectangle getScreenBounds();
+
+    /**
+     * Captures an area of the screen.
+     * @param area the area in screen coordinates
+     * @return the image
+     */
+    Image capture(Rectangle area);
+
+    /**
+     * Returns a part of an image captured by this capturer. The part is
+     * expected to share pixels with the image rather than to copy them.
+     * @param image an image returned by {@code capture(Rectangle)}
+     * @param area the part, relative to the image
+     * @return the part of the image
+     */
+    Image crop(Image image, Rectangle area);
+}
@@ -42,18 +42,34 @@ public class AverageDistanceComparator extends ThresholdComparator {
         if (size == null) {
             return false;
         }
+        return averageDistance(image1, image2, size) < getThreshold();
+    }
+
+    static double averageDistance(Raster image1, Raster image2, Dimension size) {
         int totalPixels = size.width * size.height;
         double distance = 0;
-        double[] colors1 = new double[image1.getSupported().length];
-        double[] colors2 = new double[image2.getSupported().length];
-        for (int x = 0; x < size.width; x++) {
+        if (PackedRasters.isPacked(image1, image2)) {
+            int[] row1 = new int[size.width];
+            int[] row2 = new int[size.width];
             for (int y = 0; y < size.height; y++) {
-                image1.getColors(x, y, colors1);
-                image2.getColors(x, y, colors2);
-                distance += distance(image1.getSupported(), colors1, image2.getSupported(), colors2) / totalPixels;
+                image1.getARGB(0, y, size.width, 1, row1, 0, size.width);
+                image2.getARGB(0, y, size.width, 1, row2, 0, size.width);
+                distance += PackedRasters.sumDistance(row1, row2, size.width);
+            }
+            return distance / totalPixels;
+        }
+        ComponentLayout layout1 = ComponentLayout.of(image1).requireRGB();
+        ComponentLayout layout2 = ComponentLayout.of(image2).requireRGB();
+        double[] row1 = new double[size.width * layout1.size()];
+        double[] row2 = new double[size.width * layout2.size()];
+        for (int y = 0; y < size.height; y++) {
+            image1.getRow(0, y, size.width, row1);
+            image2.getRow(0, y, size.width, row2);
+            for (int x = 0; x < size.width; x++) {
+                distance += distance(layout1, row1, x * layout1.size(), layout2, row2, x * layout2.size()) / totalPixels;
             }
         }
-        return distance < getThreshold();
+        return distance;
     }
 
     public static final Raster.Component[] DISTANCE_COMPONENTS = {
@@ -61,14 +77,20 @@ public class AverageDistanceComparator extends ThresholdComparator {
     };
 
     static double distance(Raster.Component[] comps1, double[] colors1, Raster.Component[] comps2, double[] colors2) {
-        double res = 0;
-        double diff;
-        for (Raster.Component c : DISTANCE_COMPONENTS) {
-            diff = colors2[PixelImageComparator.arrayIndexOf(comps2, c)] -
-                    colors1[PixelImageComparator.arrayIndexOf(comps1, c)];
-            res += diff * diff;
-        }
-        return Math.sqrt(res);
+        return distance(new ComponentLayout(comps1).requireRGB(), colors1, 0,
+                new ComponentLayout(comps2).requireRGB(), colors2, 0);
+    }
+
+    /**
+     * Distance between two pixels. The layouts are expected to have all of
+     * {@code DISTANCE_COMPONENTS}.
+     */
+    static double distance(ComponentLayout layout1, double[] colors1, int offset1,
+            ComponentLayout layout2, double[] colors2, int offset2) {
+        double diffRed = colors2[offset2 + layout2.red()] - colors1[offset1 + layout1.red()];
+        double diffGreen = colors2[offset2 + layout2.green()] - colors1[offset1 + layout1.green()];
+        double diffBlue = colors2[offset2 + layout2.blue()] - colors1[offset1 + layout1.blue()];
+        return Math.sqrt(diffRed * diffRed + diffBlue * diffBlue + diffGreen * diffGreen);
     }
 
     public String getID() {
@@ -25,7 +25,9 @@
 
 package org.jemmy.image.pixel;
 
+import java.util.concurrent.atomic.AtomicLong;
 import org.jemmy.Dimension;
+import org.jemmy.Rectangle;
 
 /**
  * @author shura
@@ -37,26 +39,80 @@ public abstract class BaseCountingRasterComparator extends ThresholdComparator {
         setThreshold(threshold);
     }
 
-    public boolean compare(Raster image1, Raster image2) {
+    /**
+     * Counts the pixels which differ. The rasters are compared tile by tile,
+     * in parallel if both are {@code ConcurrentRaster}s. The comparison
+     * stops as soon as more pixels differ than the threshold allows.
+     * @param image1 the first raster
+     * @param image2 the second raster
+     * @return true if the share of different pixels is within the threshold
+     */
+    public boolean compare(final Raster image1, final Raster image2) {
         Dimension size = PixelImageComparator.computeDiffSize(image1, image2);
         if(size == null) {
             return false;
         }
-        int totalPixels = size.width * size.height;
+        final long budget = (long) Math.floor((double) size.width * size.height * getThreshold());
+        final AtomicLong offPixels = new AtomicLong();
+        final ComponentLayout layout1 = ComponentLayout.of(image1);
+        final ComponentLayout layout2 = ComponentLayout.of(image2);
+        return RasterTiles.visit(size, RasterTiles.isConcurrent(image1, image2), new RasterTiles.TileVisitor() {
+            public boolean visit(Rectangle tile) {
+                long limit = budget - offPixels.get();
+                if (limit < 0) {
+                    return false;
+                }
+                return offPixels.addAndGet(countDifferent(image1, layout1, image2, layout2, tile, limit)) <= budget;
+            }
+        });
+    }
+
+    /**
+     * Counts the pixels which differ within a tile. Counting could stop once
+     * the count exceeds the limit.
+     * @param image1 the first raster
+     * @param layout1 components of the first raster
+     * @param image2 the second raster
+     * @param layout2 components of the second raster
+     * @param tile the area to compare
+     * @param limit the number of pixels which could differ
+     * @return the number of different pixels, or any number greater than the
+     * limit if the limit has been exceeded
+     */
+    protected int countDifferent(Raster image1, ComponentLayout layout1, Raster image2, ComponentLayout layout2,
+            Rectangle tile, long limit) {
         int offPixels = 0;
-        double[] colors1 = new double[image1.getSupported().length];
-        double[] colors2 = new double[image2.getSupported().length];
-        for (int x = 0; x < size.width; x++) {
-            for (int y = 0; y < size.height; y++) {
-                image1.getColors(x, y, colors1);
-                image2.getColors(x, y, colors2);
-                if (!compare(image1.getSupported(), colors1,
-                             image2.getSupported(), colors2)) {
+        double[] colors1 = new double[layout1.size()];
+        double[] colors2 = new double[layout2.size()];
+        double[] row1 = new double[tile.width * colors1.length];
+        double[] row2 = new double[tile.width * colors2.length];
+        for (int y = tile.y; y < tile.y + tile.height && offPixels <= limit; y++) {
+            image1.getRow(tile.x, y, tile.width, row1);
+            image2.getRow(tile.x, y, tile.width, row2);
+            for (int x = 0; x < tile.width; x++) {
+                System.arraycopy(row1, x * colors1.length, colors1, 0, colors1.length);
+                System.arraycopy(row2, x * colors2.length, colors2, 0, colors2.length);
+                if (!compare(layout1, colors1, layout2, colors2)) {
                     offPixels++;
                 }
             }
         }
-        return (offPixels <= totalPixels * getThreshold());
+        return offPixels;
+    }
+
+    /**
+     * Compares two pixels using layouts resolved once per comparison. Calls
+     * {@code compare(Component[], double[], Component[], double[])} unless
+     * overridden.
+     * @param layout1 components of the first image
+     * @param colors1 the first pixel component values
+     * @param layout2 components of the second image
+     * @param colors2 the second pixel component values
+     * @return true if the pixels are considered equal
+     */
+    protected boolean compare(ComponentLayout layout1, double[] colors1,
+            ComponentLayout layout2, double[] colors2) {
+        return compare(layout1.components(), colors1, layout2.components(), colors2);
     }
 
     protected abstract boolean compare(Raster.Component[] comps1, double[] colors1, Raster.Component[] comps2, double[] colors2);
@@ -56,22 +56,23 @@ public abstract class ColorMappingComparator implements RasterComparator {
         this(both, both, subComparator);
     }
 
+    /**
+     * Compares the images through color mapping views, so the mapped
+     * images are never stored.
+     * @see RasterView#map(Raster, ColorMap)
+     */
     public boolean compare(Raster image1, Raster image2) {
-        return subComparator.compare(map(image1, left), map(image2, right));
+        return subComparator.compare(RasterView.map(image1, left), RasterView.map(image2, right));
     }
 
+    /**
+     * Creates a copy of an image with the colors mapped.
+     * @param image the image
+     * @param map the mapping
+     * @return the copy created by {@code createView(Dimension)}
+     */
     public WriteableRaster map(Raster image, ColorMap map) {
-        WriteableRaster res = createView(image.getSize());
-        double[] colors = new double[image.getSupported().length];
-        double[] newColors = new double[image.getSupported().length];
-        for (int x = 0; x < image.getSize().width; x++) {
-            for (int y = 0; y < image.getSize().height; y++) {
-                image.getColors(x, y, colors);
-                map.map(image.getSupported(), colors, newColors);
-                res.setColors(x, y, newColors);
-            }
-        }
-        return res;
+        return RasterView.map(image, map).copyTo(createView(image.getSize()));
     }
 
     protected abstract WriteableRaster createView(Dimension size);
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.util.Arrays;
+import org.jemmy.image.pixel.Raster.Component;
+
+/**
+ * Positions of color components within a pixel, resolved once for a set of
+ * supported components so that per pixel code does not have to search for
+ * them.
+ *
+ * @see Raster#getSupported()
+ */
+public final class ComponentLayout {
+
+    private final Component[] components;
+    private final int[] indexes = new int[Component.values().length];
+    private final boolean rgb;
+    private final int order;
+
+    /**
+     * Resolves the layout of a raster.
+     * @param raster the raster
+     * @return the layout
+     */
+    public static ComponentLayout of(Raster raster) {
+        return new ComponentLayout(raster.getSupported());
+    }
+
+    public ComponentLayout(Component[] components) {
+        this.components = components.clone();
+        Arrays.fill(indexes, -1);
+        int ord = 1;
+        for (int i = components.length - 1; i >= 0; i--) {
+            indexes[components[i].ordinal()] = i;
+            ord = ord * 8 + components[i].ordinal();
+        }
+        order = (components.length <= 8) ? ord : -1;
+        rgb = components.length >= 3 && components[0] == Component.RED
+                && components[1] == Component.GREEN && components[2] == Component.BLUE
+                && (components.length == 3 || (components.length == 4 && components[3] == Component.ALPHA));
+    }
+
+    /**
+     * @return the components in the order they go within a pixel
+     */
+    public Component[] getComponents() {
+        return components.clone();
+    }
+
+    Component[] components() {
+        return components;
+    }
+
+    /**
+     * @return number of components in a pixel
+     */
+    public int size() {
+        return components.length;
+    }
+
+    /**
+     * @param comp a component
+     * @return position of the component within a pixel or -1 if it is not
+     * supported
+     */
+    public int indexOf(Component comp) {
+        return indexes[comp.ordinal()];
+    }
+
+    public int red() {
+        return indexes[Component.RED.ordinal()];
+    }
+
+    public int green() {
+        return indexes[Component.GREEN.ordinal()];
+    }
+
+    public int blue() {
+        return indexes[Component.BLUE.ordinal()];
+    }
+
+    public int alpha() {
+        return indexes[Component.ALPHA.ordinal()];
+    }
+
+    public boolean hasAlpha() {
+        return alpha() >= 0;
+    }
+
+    /**
+     * Tells whether components go in the RGB or RGBA order.
+     * @return true for RGB and RGBA layouts
+     */
+    public boolean isRGB() {
+        return rgb;
+    }
+
+    /**
+     * @param other another layout
+     * @return true if both layouts have the same components in the same order
+     */
+    public boolean isSame(ComponentLayout other) {
+        if (order >= 0 && other.order >= 0) {
+            return order == other.order;
+        }
+        return this == other || Arrays.equals(components, other.components);
+    }
+
+    /**
+     * @param other another layout
+     * @return true if both layouts have the same components, perhaps in a
+     * different order
+     */
+    public boolean hasSameComponents(ComponentLayout other) {
+        if (size() != other.size()) {
+            return false;
+        }
+        for (Component c : components) {
+            if (other.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that red, green and blue components are all supported.
+     * @return this layout
+     * @throws IllegalArgumentException if any of the components is missing
+     */
+    public ComponentLayout requireRGB() {
+        require(Component.RED);
+        require(Component.GREEN);
+        require(Component.BLUE);
+        return this;
+    }
+
+    /**
+     * Returns index of the required component within the layout.
+     * @param comp the component
+     * @return the index
+     * @throws IllegalArgumentException if the component is not supported
+     */
+    public int require(Component comp) {
+        int res = indexOf(comp);
+        if (res < 0) {
+            throw new IllegalArgumentException("Unknown component " + comp);
+        }
+        return res;
+    }
+}
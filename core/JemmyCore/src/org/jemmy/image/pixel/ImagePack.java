@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import org.jemmy.Dimension;
+import org.jemmy.JemmyException;
+
+/**
+ * Keeps images in a single pack file, addressed by their content. Every
+ * distinct raster is stored once as a PNG blob, alpha included; saving an equal raster under
+ * another ID only adds an index record. The index is a separate file which is
+ * memory mapped when the pack is opened. Any image could be read without
+ * reading the rest of the pack.
+ * <p>
+ * Files are only appended to, so a record could only be lost at the very end
+ * of the index if a process is killed while saving. One pack should not be
+ * written by several processes at once.
+ *
+ * @see PackImageStore
+ */
+public class ImagePack {
+
+    public static final String PACK_FILE = "images.pack";
+    public static final String INDEX_FILE = "images.idx";
+
+    private static final byte[] PACK_MAGIC = {'J', 'P', 'A', 'K', 0, 0, 0, 1};
+    private static final byte[] INDEX_MAGIC = {'J', 'P', 'I', 'X', 0, 0, 0, 1};
+    private static final int DIGEST_LENGTH = 32;
+
+    private static final Map<File, ImagePack> PACKS = new HashMap<File, ImagePack>();
+
+    /**
+     * Opens a pack in a directory, creating it if needed. Packs are shared,
+     * so stores and loaders opened for the same directory see each other's
+     * images.
+     * @param root the directory
+     * @return the pack
+     */
+    public static ImagePack open(File root) {
+        File dir;
+        try {
+            dir = root.getCanonicalFile();
+        } catch (IOException ex) {
+            throw new JemmyException("Unable to open image pack", ex, root);
+        }
+        synchronized (PACKS) {
+            ImagePack res = PACKS.get(dir);
+            if (res == null) {
+                res = new ImagePack(dir);
+                PACKS.put(dir, res);
+            }
+            return res;
+        }
+    }
+
+    private final File root;
+    private final RandomAccessFile pack;
+    private final RandomAccessFile index;
+    private final Map<String, Entry> ids = new LinkedHashMap<String, Entry>();
+    private final Map<ByteBuffer, Entry> blobs = new HashMap<ByteBuffer, Entry>();
+    private int compressionLevel = Deflater.BEST_COMPRESSION;
+    private long indexEnd;
+    private boolean closed = false;
+
+    private ImagePack(File root) {
+        this.root = root;
+        try {
+            root.mkdirs();
+            pack = new RandomAccessFile(new File(root, PACK_FILE), "rw");
+            index = new RandomAccessFile(new File(root, INDEX_FILE), "rw");
+            if (pack.length() == 0) {
+                pack.write(PACK_MAGIC);
+            }
+            checkMagic(pack, PACK_MAGIC);
+            if (index.length() == 0) {
+                index.write(INDEX_MAGIC);
+            }
+            checkMagic(index, INDEX_MAGIC);
+            readIndex();
+        } catch (IOException ex) {
+            throw new JemmyException("Unable to open image pack", ex, root);
+        }
+    }
+
+    private static void checkMagic(RandomAccessFile file, byte[] magic) throws IOException {
+        byte[] header = new byte[magic.length];
+        file.seek(0);
+        file.readFully(header);
+        if (!Arrays.equals(header, magic)) {
+            throw new JemmyException("Not an image pack file", file);
+        }
+    }
+
+    private void readIndex() throws IOException {
+        FileChannel channel = index.getChannel();
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        buffer.position(INDEX_MAGIC.length);
+        int end = buffer.position();
+        try {
+            while (buffer.hasRemaining()) {
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    break;
+                }
+                byte[] id = new byte[length];
+                buffer.get(id);
+                byte[] digest = new byte[DIGEST_LENGTH];
+                buffer.get(digest);
+                Entry entry = new Entry(digest, buffer.getLong(), buffer.getInt());
+                if (entry.offset + entry.length > pack.length()) {
+                    break;
+                }
+                add(new String(id, StandardCharsets.UTF_8), entry);
+                end = buffer.position();
+            }
+        } catch (BufferUnderflowException e) {
+            //a record which has not been written completely
+        }
+        //an incomplete record is overwritten by the next one
+        indexEnd = end;
+    }
+
+    private void add(String id, Entry entry) {
+        Entry blob = blobs.get(ByteBuffer.wrap(entry.digest));
+        if (blob == null) {
+            blobs.put(ByteBuffer.wrap(entry.digest), entry);
+            blob = entry;
+        }
+        ids.put(id, blob);
+    }
+
+    /**
+     * @return the directory of the pack
+     */
+    public File getRoot() {
+        return root;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * @param compressionLevel compression level of new blobs, see
+     * {@code PNGSaver.setCompressionLevel(int)}
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Computes the key an image is addressed by: SHA-256 of the size and the
+     * packed ARGB values of the pixels.
+     * @param image the image
+     * @return the digest
+     */
+    public static byte[] digest(Raster image) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new JemmyException("SHA-256 is not available", ex);
+        }
+        Dimension size = image.getSize();
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(8, size.width * 4));
+        buffer.putInt(size.width).putInt(size.height);
+        md.update(buffer.array(), 0, 8);
+        int[] row = new int[size.width];
+        for (int y = 0; y < size.height; y++) {
+            image.getARGB(0, y, size.width, 1, row, 0, size.width);
+            buffer.clear();
+            buffer.asIntBuffer().put(row);
+            md.update(buffer.array(), 0, size.width * 4);
+        }
+        return md.digest();
+    }
+
+    /**
+     * Saves an image. The image is only encoded if there is no equal image in
+     * the pack yet.
+     * @param image the image
+     * @param id ID to load the image by
+     * @throws IOException if the pack could not be written
+     */
+    public void save(Raster image, String id) throws IOException {
+        byte[] digest = digest(image);
+        synchronized (this) {
+            checkOpen();
+            Entry entry = blobs.get(ByteBuffer.wrap(digest));
+            if (entry == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                PNGSaver saver = new PNGSaver(out, PNGSaver.COLOR_ALPHA_MODE);
+                saver.setCompressionLevel(compressionLevel);
+                saver.encode(image, true);
+                long offset = pack.length();
+                pack.seek(offset);
+                pack.write(out.toByteArray());
+                entry = new Entry(digest, offset, out.size());
+            } else if (entry == ids.get(id)) {
+                return;
+            }
+            byte[] name = id.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer record = ByteBuffer.allocate(4 + name.length + DIGEST_LENGTH + 8 + 4);
+            record.putInt(name.length).put(name).put(digest).putLong(entry.offset).putInt(entry.length);
+            index.seek(indexEnd);
+            index.write(record.array());
+            indexEnd += record.capacity();
+            add(id, entry);
+        }
+    }
+
+    /**
+     * @param id image ID
+     * @return true if there is an image with the ID
+     */
+    public synchronized boolean contains(String id) {
+        return ids.containsKey(id);
+    }
+
+    /**
+     * @return IDs of all images, in the order they were first saved
+     */
+    public synchronized Set<String> getIDs() {
+        return Collections.unmodifiableSet(new LinkedHashSet<String>(ids.keySet()));
+    }
+
+    /**
+     * @param id image ID
+     * @return the content digest of the image, null if there is no such image
+     * @see #digest(Raster)
+     */
+    public synchronized byte[] getDigest(String id) {
+        Entry entry = ids.get(id);
+        return (entry == null) ? null : entry.digest.clone();
+    }
+
+    /**
+     * @return number of distinct images stored
+     */
+    public synchronized int getBlobCount() {
+        return blobs.size();
+    }
+
+    /**
+     * Reads the PNG data of an image.
+     * @param id image ID
+     * @return the stream to decode the image from
+     * @throws IOException if the pack could not be read
+     * @throws IllegalArgumentException if there is no such image
+     */
+    public InputStream open(String id) throws IOException {
+        Entry entry;
+        FileChannel channel;
+        synchronized (this) {
+            checkOpen();
+            entry = ids.get(id);
+            channel = pack.getChannel();
+        }
+        if (entry == null) {
+            throw new IllegalArgumentException("No image \"" + id + "\" in " + root);
+        }
+        ByteBuffer data = ByteBuffer.allocate(entry.length);
+        while (data.hasRemaining()) {
+            if (channel.read(data, entry.offset + data.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return new ByteArrayInputStream(data.array());
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Image pack is closed: " + root);
+        }
+    }
+
+    /**
+     * Closes the pack files. The next {@code open(File)} for the directory
+     * opens the pack again.
+     * @throws IOException if the files could not be closed
+     */
+    public void close() throws IOException {
+        synchronized (PACKS) {
+            if (PACKS.get(root) == this) {
+                PACKS.remove(root);
+            }
+        }
+        synchronized (this) {
+            closed = true;
+            pack.close();
+            index.close();
+        }
+    }
+
+    private static class Entry {
+
+        private final byte[] digest;
+        private final long offset;
+        private final int length;
+
+        Entry(byte[] digest, long offset, int length) {
+            this.digest = digest;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
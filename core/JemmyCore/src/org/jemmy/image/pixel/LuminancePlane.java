@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import org.jemmy.Dimension;
+
+/**
+ * Builds downsampled luminance planes for the perceptual comparators. Every
+ * value of a plane is the average luminance of the source pixels falling
+ * into it, within (0, 1).
+ *
+ * @see PerceptualHashComparator
+ * @see StructuralSimilarityComparator
+ */
+final class LuminancePlane {
+
+    private static final double RED = 0.299;
+    private static final double GREEN = 0.587;
+    private static final double BLUE = 0.114;
+
+    private LuminancePlane() {
+    }
+
+    /**
+     * Computes a luminance plane of a raster. A plane larger than the raster
+     * in some dimension is filled by the nearest values.
+     * @param raster the raster
+     * @param width plane width
+     * @param height plane height
+     * @return the plane values, row after row
+     */
+    static double[] of(Raster raster, int width, int height) {
+        Dimension size = raster.getSize();
+        if (size.width == 0 || size.height == 0) {
+            return new double[width * height];
+        }
+        int w = Math.min(width, size.width);
+        int h = Math.min(height, size.height);
+        double[] sums = new double[w * h];
+        int[] counts = new int[w * h];
+        int[] column = new int[size.width];
+        for (int x = 0; x < size.width; x++) {
+            column[x] = (int) ((long) x * w / size.width);
+        }
+        double[] luminance = new double[size.width];
+        boolean packed = RasterView.isPacked(raster);
+        int[] argb = packed ? new int[size.width] : null;
+        ComponentLayout layout = packed ? null : ComponentLayout.of(raster).requireRGB();
+        double[] row = packed ? null : new double[size.width * layout.size()];
+        for (int y = 0; y < size.height; y++) {
+            if (packed) {
+                raster.getARGB(0, y, size.width, 1, argb, 0, size.width);
+                for (int x = 0; x < size.width; x++) {
+                    int pixel = argb[x];
+                    luminance[x] = (RED * ((pixel >> 16) & 0xFF) + GREEN * ((pixel >> 8) & 0xFF)
+                            + BLUE * (pixel & 0xFF)) / 0xFF;
+                }
+            } else {
+                raster.getRow(0, y, size.width, row);
+                for (int x = 0; x < size.width; x++) {
+                    int offset = x * layout.size();
+                    luminance[x] = RED * row[offset + layout.red()] + GREEN * row[offset + layout.green()]
+                            + BLUE * row[offset + layout.blue()];
+                }
+            }
+            int base = (int) ((long) y * h / size.height) * w;
+            for (int x = 0; x < size.width; x++) {
+                sums[base + column[x]] += luminance[x];
+                counts[base + column[x]]++;
+            }
+        }
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] /= counts[i];
+        }
+        if (w == width && h == height) {
+            return sums;
+        }
+        double[] res = new double[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                res[y * width + x] = sums[(int) ((long) y * h / height) * w + (int) ((long) x * w / width)];
+            }
+        }
+        return res;
+    }
+}
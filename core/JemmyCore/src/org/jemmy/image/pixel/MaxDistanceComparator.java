@@ -41,17 +41,35 @@ public class MaxDistanceComparator extends ThresholdComparator{
         if (size == null) {
             return false;
         }
-        double[] colors1 = new double[image1.getSupported().length];
-        double[] colors2 = new double[image2.getSupported().length];
-        double distance = 0;
-        for (int x = 0; x < size.width; x++) {
+        return maxDistance(image1, image2, size) <= getThreshold();
+    }
+
+    static double maxDistance(Raster image1, Raster image2, Dimension size) {
+        if (PackedRasters.isPacked(image1, image2)) {
+            int[] row1 = new int[size.width];
+            int[] row2 = new int[size.width];
+            int distance = 0;
             for (int y = 0; y < size.height; y++) {
-                image1.getColors(x, y, colors1);
-                image2.getColors(x, y, colors2);
-                distance = Math.max(distance, AverageDistanceComparator.distance(image1.getSupported(), colors1, image2.getSupported(), colors2));
+                image1.getARGB(0, y, size.width, 1, row1, 0, size.width);
+                image2.getARGB(0, y, size.width, 1, row2, 0, size.width);
+                distance = Math.max(distance, PackedRasters.maxSquareDistance(row1, row2, size.width));
+            }
+            return PackedRasters.toDistance(distance);
+        }
+        ComponentLayout layout1 = ComponentLayout.of(image1).requireRGB();
+        ComponentLayout layout2 = ComponentLayout.of(image2).requireRGB();
+        double[] row1 = new double[size.width * layout1.size()];
+        double[] row2 = new double[size.width * layout2.size()];
+        double distance = 0;
+        for (int y = 0; y < size.height; y++) {
+            image1.getRow(0, y, size.width, row1);
+            image2.getRow(0, y, size.width, row2);
+            for (int x = 0; x < size.width; x++) {
+                distance = Math.max(distance, AverageDistanceComparator.distance(
+                        layout1, row1, x * layout1.size(), layout2, row2, x * layout2.size()));
             }
         }
-        return distance <= getThreshold();
+        return distance;
     }
 
     public String getID() {
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.jemmy.Dimension;
+import org.jemmy.env.Environment;
+import org.jemmy.env.TestOut;
+
+/**
+ * Compares downscaled copies of the images first and only runs the full
+ * resolution comparator if the result is not clear from the copies. Every
+ * pixel of a copy is the average of a square block of the image.
+ * <p>
+ * The coarse pass measures the maximum RGB distance between the blocks, in
+ * the units of {@code MaxDistanceComparator}. The distance between the
+ * averages never exceeds the largest distance between the pixels, so images
+ * whose blocks are farther than {@code differentDistance} apart have pixels
+ * which are at least that far apart. Such images are rejected without the
+ * full comparison if the full comparator would reject them, too: if it is a
+ * {@code MaxDistanceComparator} with the threshold not above
+ * {@code differentDistance} or a {@code PixelEqualityRasterComparator} with
+ * zero threshold. Other comparators could accept a few distant pixels, so
+ * the reject has to be requested explicitly for them. Images with all
+ * blocks within {@code sameDistance} are considered equal, which is a guess:
+ * differences within a block could cancel out. A negative
+ * {@code sameDistance} turns the guess off.
+ * <p>
+ * Downscaled copies are kept for as long as the images are in use, so a
+ * golden image compared many times is only downscaled once. Images should
+ * not be changed after they have been compared.
+ *
+ * @see #getLastLevel()
+ */
+public class MultiResolutionComparator implements RasterComparator {
+
+    public static final String OUTPUT = MultiResolutionComparator.class.getName() + ".OUTPUT";
+
+    static {
+        Environment.getEnvironment().initOutput(OUTPUT, TestOut.getNullOutput());
+    }
+
+    /**
+     * Where a comparison was decided.
+     */
+    public enum Level {
+        /**
+         * by the downscaled copies
+         */
+        COARSE,
+        /**
+         * by the full resolution comparator
+         */
+        FULL
+    }
+
+    private final RasterComparator subComparator;
+    private final int scale;
+    private final double sameDistance;
+    private final double differentDistance;
+    private final boolean alwaysReject;
+    private final Map<Raster, Coarse> cache = Collections.synchronizedMap(new WeakHashMap<Raster, Coarse>());
+    private final AtomicLong coarseDecisions = new AtomicLong();
+    private final AtomicLong fullDecisions = new AtomicLong();
+    private volatile Level lastLevel = null;
+
+    /**
+     * @param subComparator the full resolution comparator
+     * @param scale side of the averaged blocks, such as 4 or 8
+     * @param sameDistance maximum block distance of images considered equal
+     * without the full comparison, negative to always compare images which
+     * are not clearly different
+     * @param differentDistance block distance above which images are
+     * considered different without the full comparison, if that is what the
+     * full comparator would decide
+     * @see #isRejecting()
+     */
+    public MultiResolutionComparator(RasterComparator subComparator, int scale,
+            double sameDistance, double differentDistance) {
+        this(subComparator, scale, sameDistance, differentDistance, false);
+    }
+
+    /**
+     * @param subComparator the full resolution comparator
+     * @param scale side of the averaged blocks, such as 4 or 8
+     * @param sameDistance maximum block distance of images considered equal
+     * without the full comparison, negative to always compare images which
+     * are not clearly different
+     * @param differentDistance block distance above which images are
+     * considered different without the full comparison
+     * @param alwaysReject whether to reject images farther apart than
+     * {@code differentDistance} whatever the full comparator is, rather than
+     * only when the full comparator would reject them, too
+     * @see #isRejecting()
+     */
+    public MultiResolutionComparator(RasterComparator subComparator, int scale,
+            double sameDistance, double differentDistance, boolean alwaysReject) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("Scale should be positive. Got: " + scale);
+        }
+        if (differentDistance < sameDistance) {
+            throw new IllegalArgumentException("Expected sameDistance <= differentDistance. Got: "
+                    + sameDistance + ", " + differentDistance);
+        }
+        this.subComparator = subComparator;
+        this.scale = scale;
+        this.sameDistance = sameDistance;
+        this.differentDistance = differentDistance;
+        this.alwaysReject = alwaysReject;
+    }
+
+    /**
+     * Only rejects images on the coarse pass, images which could be equal are
+     * always compared by the full comparator.
+     * @param subComparator the full resolution comparator
+     * @param scale side of the averaged blocks, such as 4 or 8
+     * @param differentDistance block distance above which images are
+     * considered different without the full comparison, if that is what the
+     * full comparator would decide
+     * @see #isRejecting()
+     */
+    public MultiResolutionComparator(RasterComparator subComparator, int scale, double differentDistance) {
+        this(subComparator, scale, -1, differentDistance);
+    }
+
+    public RasterComparator getSubComparator() {
+        return subComparator;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Tells whether images with blocks farther than {@code differentDistance}
+     * apart are rejected on the coarse pass. That is the case if it has been
+     * requested or if the full comparator would reject such images anyway.
+     * @return true if the coarse pass rejects images
+     */
+    public boolean isRejecting() {
+        if (alwaysReject) {
+            return true;
+        }
+        if (subComparator.getClass() == MaxDistanceComparator.class) {
+            return ((MaxDistanceComparator) subComparator).getThreshold() <= differentDistance;
+        }
+        if (subComparator.getClass() == PixelEqualityRasterComparator.class) {
+            return ((PixelEqualityRasterComparator) subComparator).getThreshold() == 0
+                    && differentDistance >= 0;
+        }
+        return false;
+    }
+
+    /**
+     * @return the level which decided the last comparison, null if nothing
+     * has been compared
+     */
+    public Level getLastLevel() {
+        return lastLevel;
+    }
+
+    /**
+     * @return number of comparisons decided by the downscaled copies
+     */
+    public long getCoarseDecisions() {
+        return coarseDecisions.get();
+    }
+
+    /**
+     * @return number of comparisons decided by the full comparator
+     */
+    public long getFullDecisions() {
+        return fullDecisions.get();
+    }
+
+    public boolean compare(Raster image1, Raster image2) {
+        boolean rejecting = isRejecting();
+        if ((rejecting || sameDistance >= 0) && image1.getSize().equals(image2.getSize())) {
+            final double distance = getCoarse(image1).distance(getCoarse(image2));
+            if ((rejecting && distance > differentDistance) || distance <= sameDistance) {
+                final boolean res = distance <= sameDistance;
+                lastLevel = Level.COARSE;
+                coarseDecisions.incrementAndGet();
+                Environment.getEnvironment().getOutput(OUTPUT).printlnLazy(new Supplier<String>() {
+                    public String get() {
+                        return "Decided by 1/" + scale + " scale: " + res + ", distance " + distance;
+                    }
+                });
+                return res;
+            }
+        }
+        final boolean res = subComparator.compare(image1, image2);
+        lastLevel = Level.FULL;
+        fullDecisions.incrementAndGet();
+        Environment.getEnvironment().getOutput(OUTPUT).printlnLazy(new Supplier<String>() {
+            public String get() {
+                return "Decided by full scale: " + res;
+            }
+        });
+        return res;
+    }
+
+    private Coarse getCoarse(Raster image) {
+        Coarse res = cache.get(image);
+        if (res == null) {
+            res = new Coarse(image, scale);
+            cache.put(image, res);
+        }
+        return res;
+    }
+
+    public String getID() {
+        return MultiResolutionComparator.class.getName() + ":" + scale + "," + sameDistance + ","
+                + differentDistance + (alwaysReject ? ",reject" : "") + "(" + subComparator.getID() + ")";
+    }
+
+    /**
+     * A box filtered copy of an image. Averages are not rounded, so that the
+     * distance between blocks never exceeds the distance between pixels.
+     */
+    private static class Coarse {
+
+        private final double[] rgb;
+
+        Coarse(Raster image, int scale) {
+            Dimension size = image.getSize();
+            int width = (size.width + scale - 1) / scale;
+            int height = (size.height + scale - 1) / scale;
+            rgb = new double[width * height * 3];
+            long[] sums = new long[width * 3];
+            int[] row = new int[size.width];
+            for (int by = 0; by < height; by++) {
+                Arrays.fill(sums, 0);
+                int rows = Math.min(scale, size.height - by * scale);
+                for (int y = by * scale; y < by * scale + rows; y++) {
+                    image.getARGB(0, y, size.width, 1, row, 0, size.width);
+                    for (int x = 0; x < size.width; x++) {
+                        int pixel = row[x];
+                        int index = (x / scale) * 3;
+                        sums[index] += (pixel >> 16) & 0xFF;
+                        sums[index + 1] += (pixel >> 8) & 0xFF;
+                        sums[index + 2] += pixel & 0xFF;
+                    }
+                }
+                for (int bx = 0; bx < width; bx++) {
+                    double count = (double) rows * Math.min(scale, size.width - bx * scale);
+                    for (int c = 0; c < 3; c++) {
+                        rgb[(by * width + bx) * 3 + c] = sums[bx * 3 + c] / count;
+                    }
+                }
+            }
+        }
+
+        double distance(Coarse other) {
+            double res = 0;
+            for (int i = 0; i < rgb.length; i += 3) {
+                double red = rgb[i] - other.rgb[i];
+                double green = rgb[i + 1] - other.rgb[i + 1];
+                double blue = rgb[i + 2] - other.rgb[i + 2];
+                res = Math.max(res, red * red + green * green + blue * blue);
+            }
+            return Math.sqrt(res) / 0xFF;
+        }
+    }
+}
@@ -25,22 +25,48 @@
 
 package org.jemmy.image.pixel;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 import org.jemmy.JemmyException;
-import org.jemmy.image.pixel.Raster.Component;
 
 /**
- * Allows to load PNG graphical file.
+ * Allows to load PNG graphical file. Non-interlaced images of all color
+ * types and bit depths are supported. Image data could be split into any
+ * number of IDAT chunks, those are inflated as they are read and the
+ * decoded rows are written into the raster as packed ARGB values.
  * @author Alexandre Iline
  */
 public abstract class PNGLoader {
 
+    private static final byte[] SIGNATURE = {-119, 80, 78, 71, 13, 10, 26, 10};
+
+    private static final int GREYSCALE = 0;
+    private static final int TRUECOLOR = 2;
+    private static final int INDEXED = 3;
+    private static final int GREYSCALE_ALPHA = 4;
+    private static final int TRUECOLOR_ALPHA = 6;
+
+    /**
+     * Chunk data is read by slices of this size, so a corrupt length does
+     * not make the loader allocate more than that.
+     */
+    private static final int SLICE = 0x10000;
+    private static final int MAX_PALETTE = 256 * 3;
+    private static final int MAX_TRANSPARENCY = 256;
+
     InputStream in;
 
+    private int width;
+    private int height;
+    private int depth;
+    private int colorType;
+    private int[] palette = null;
+    private int[] transparent = null;
+
     /**
      * Constructs a PNGDecoder object.
      * @param in input stream to read PNG image from.
@@ -50,8 +76,11 @@ public abstract class PNGLoader {
     }
 
     byte read() throws IOException {
-        byte b = (byte)in.read();
-        return(b);
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return (byte) b;
     }
 
     int readInt() throws IOException {
@@ -64,12 +93,31 @@ public abstract class PNGLoader {
 
     byte[] read(int count) throws IOException {
         byte[] result = new byte[count];
-        for(int i = 0; i < count; i++) {
-            result[i] = read();
-        }
+        read(result, count);
         return(result);
     }
 
+    private void read(byte[] buffer, int count) throws IOException {
+        int done = 0;
+        while (done < count) {
+            int n = in.read(buffer, done, count - done);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            done += n;
+        }
+    }
+
+    /**
+     * Reads chunk data which is not larger than the limit.
+     */
+    private byte[] readChunk(int length, int limit) throws IOException {
+        if (length > limit) {
+            throw new JemmyException("Format error");
+        }
+        return read(length);
+    }
+
     void checkEquality(byte[] b1, byte[] b2) {
         if(!Arrays.equals(b1, b2)) {
             throw(new JemmyException("Format error"));
@@ -94,137 +142,338 @@ public abstract class PNGLoader {
      * @throws IOException todo document
      */
     public Raster decode(boolean closeStream) throws IOException {
+        WriteableRaster result = null;
+        Rows rows = null;
+        Inflater inflater = new Inflater();
+        byte[] slice = null;
+        try {
+            checkEquality(read(SIGNATURE.length), SIGNATURE);
+            while (true) {
+                int length = readInt();
+                if (length < 0) {
+                    // lengths above 2^31-1 are not allowed by the format
+                    throw new JemmyException("Format error");
+                }
+                String type = new String(read(4), "US-ASCII");
+                if (type.equals("IHDR")) {
+                    readHeader(readChunk(length, 13));
+                    result = createRaster(width, height);
+                    rows = new Rows(result);
+                } else if (type.equals("PLTE")) {
+                    readPalette(readChunk(length, MAX_PALETTE));
+                } else if (type.equals("tRNS")) {
+                    readTransparency(readChunk(length, MAX_TRANSPARENCY));
+                } else {
+                    if (type.equals("IDAT") && rows == null) {
+                        throw new JemmyException("Format error");
+                    }
+                    if (slice == null) {
+                        slice = new byte[SLICE];
+                    }
+                    //image data is inflated slice by slice, other chunks are skipped
+                    for (int done = 0; done < length; done += SLICE) {
+                        int n = Math.min(SLICE, length - done);
+                        read(slice, n);
+                        if (type.equals("IDAT")) {
+                            inflater.setInput(slice, 0, n);
+                            rows.inflate(inflater);
+                        }
+                    }
+                }
+                readInt();//!!crc
+                if (type.equals("IEND")) {
+                    break;
+                }
+            }
+            if (rows == null || !rows.isComplete()) {
+                throw new JemmyException("Format error");
+            }
+        } catch (DataFormatException e) {
+            throw(new JemmyException("ZIP error", e));
+        } finally {
+            inflater.end();
+            if (closeStream) {
+                in.close();
+            }
+        }
 
-        byte[] id = read(12);
-        checkEquality(id, new byte[] {-119, 80, 78, 71, 13, 10, 26, 10, 0, 0, 0, 13});
-
-        byte[] ihdr = read(4);
-        checkEquality(ihdr, "IHDR".getBytes());
+        return(result);
+    }
 
-        int width = readInt();
-        int height = readInt();
+    private void readHeader(byte[] data) {
+        if (data.length != 13) {
+            throw new JemmyException("Format error");
+        }
+        width = toInt(data, 0);
+        height = toInt(data, 4);
+        //values above 2^31-1 read as negative
+        if (width <= 0 || height <= 0) {
+            throw new JemmyException("Format error");
+        }
+        depth = data[8];
+        colorType = data[9];
+        if (data[10] != 0 || data[11] != 0) {
+            throw new JemmyException("Format error");
+        }
+        if (data[12] != 0) {
+            throw new JemmyException("Interlaced images are not supported");
+        }
+        boolean valid;
+        switch (colorType) {
+            case GREYSCALE:
+                valid = depth == 1 || depth == 2 || depth == 4 || depth == 8 || depth == 16;
+                break;
+            case INDEXED:
+                valid = depth == 1 || depth == 2 || depth == 4 || depth == 8;
+                break;
+            case TRUECOLOR:
+            case GREYSCALE_ALPHA:
+            case TRUECOLOR_ALPHA:
+                valid = depth == 8 || depth == 16;
+                break;
+            default:
+                valid = false;
+        }
+        if (!valid) {
+            throw new JemmyException("Unsupported color type " + colorType + " with bit depth " + depth);
+        }
+        if (((long) width * getSamples() * depth + 7) / 8 >= Integer.MAX_VALUE) {
+            throw new JemmyException("Format error");
+        }
+    }
 
-        WriteableRaster result = createRaster(width, height);
+    private void readPalette(byte[] data) {
+        palette = new int[data.length / 3];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = 0xFF000000 | ((data[i * 3] & 0xFF) << 16)
+                    | ((data[i * 3 + 1] & 0xFF) << 8) | (data[i * 3 + 2] & 0xFF);
+        }
+    }
 
-        byte[] head = read(5);
-        int mode;
-        if(Arrays.equals(head, new byte[]{1, 0, 0, 0, 0})) {
-            mode = PNGSaver.BW_MODE;
-        } else if(Arrays.equals(head, new byte[]{8, 0, 0, 0, 0})) {
-            mode = PNGSaver.GREYSCALE_MODE;
-        } else if(Arrays.equals(head, new byte[]{8, 2, 0, 0, 0})) {
-            mode = PNGSaver.COLOR_MODE;
+    private void readTransparency(byte[] data) {
+        if (colorType == INDEXED) {
+            if (palette == null) {
+                throw new JemmyException("Format error");
+            }
+            for (int i = 0; i < data.length && i < palette.length; i++) {
+                palette[i] = (palette[i] & 0x00FFFFFF) | ((data[i] & 0xFF) << 24);
+            }
         } else {
-            throw(new JemmyException("Format error"));
+            transparent = new int[data.length / 2];
+            for (int i = 0; i < transparent.length; i++) {
+                transparent[i] = ((data[i * 2] & 0xFF) << 8) | (data[i * 2 + 1] & 0xFF);
+            }
         }
+    }
 
-        readInt();//!!crc
-
-        int size = readInt();
+    private static int toInt(byte[] b, int offset) {
+        return ((b[offset] & 0xff) << 24) + ((b[offset + 1] & 0xff) << 16)
+                + ((b[offset + 2] & 0xff) << 8) + (b[offset + 3] & 0xff);
+    }
 
-        byte[] idat = read(4);
-        checkEquality(idat, "IDAT".getBytes());
+    private int getSamples() {
+        switch (colorType) {
+            case TRUECOLOR:
+                return 3;
+            case GREYSCALE_ALPHA:
+                return 2;
+            case TRUECOLOR_ALPHA:
+                return 4;
+            default:
+                return 1;
+        }
+    }
 
-        byte[] data = read(size);
+    /**
+     * Collects inflated data into rows, unfilters the rows and writes them
+     * into the raster.
+     */
+    private class Rows {
 
+        private final WriteableRaster raster;
+        private final int bpp;
+        private byte[] current;
+        private byte[] previous;
+        private final int[] argb;
+        private int position = 0;
+        private int y = 0;
 
-        Inflater inflater = new Inflater();
-        inflater.setInput(data, 0, size);
+        Rows(WriteableRaster raster) {
+            this.raster = raster;
+            int bits = getSamples() * depth;
+            bpp = Math.max(1, bits / 8);
+            //the first byte of a row is the filter type
+            current = new byte[1 + (int) (((long) width * bits + 7) / 8)];
+            previous = new byte[current.length];
+            argb = new int[width];
+        }
 
-        int[] colors = new int[3];
-        int[] black = new int[] {0, 0, 0};
-        int[] white = new int[] {1, 1, 1};
+        boolean isComplete() {
+            return y == height;
+        }
 
-        try {
-            switch (mode) {
-            case PNGSaver.BW_MODE:
-                {
-                    int bytes = (int)(width / 8);
-                    if((width % 8) != 0) {
-                        bytes++;
+        void inflate(Inflater inflater) throws DataFormatException {
+            while (y < height) {
+                int n = inflater.inflate(current, position, current.length - position);
+                if (n == 0) {
+                    if (inflater.needsInput() || inflater.finished()) {
+                        return;
                     }
-                    byte colorset;
-                    byte[] row = new byte[bytes];
-                    for (int y = 0; y < height; y++) {
-                        inflater.inflate(new byte[1]);
-                        inflater.inflate(row);
-                        for (int x = 0; x < bytes; x++) {
-                            colorset = row[x];
-                            for (int sh = 0; sh < 8; sh++) {
-                                if(x * 8 + sh >= width) {
-                                    break;
-                                }
-                                if((colorset & 0x80) == 0x80) {
-                                    setColors(result, x * 8 + sh, y, white);
-                                } else {
-                                    setColors(result, x * 8 + sh, y, black);
-                                }
-                                colorset <<= 1;
-                            }
-                        }
+                    if (inflater.needsDictionary()) {
+                        throw new JemmyException("Format error");
                     }
                 }
-                break;
-            case PNGSaver.GREYSCALE_MODE:
-                {
-                    byte[] row = new byte[width];
-                    for (int y = 0; y < height; y++) {
-                        inflater.inflate(new byte[1]);
-                        inflater.inflate(row);
-                        for (int x = 0; x < width; x++) {
-                            colors[0] = row[x];
-                            colors[1] = colors[0];
-                            colors[2] = colors[0];
-                            setColors(result, x, y, colors);
-                        }
+                position += n;
+                if (position == current.length) {
+                    unfilter();
+                    toARGB();
+                    raster.setARGB(0, y, width, 1, argb, 0, width);
+                    byte[] swap = previous;
+                    previous = current;
+                    current = swap;
+                    position = 0;
+                    y++;
+                }
+            }
+        }
+
+        private void unfilter() {
+            byte[] row = current;
+            byte[] prev = previous;
+            int length = row.length;
+            switch (row[0]) {
+                case 0:
+                    break;
+                case 1:
+                    for (int i = 1 + bpp; i < length; i++) {
+                        row[i] += row[i - bpp];
                     }
+                    break;
+                case 2:
+                    for (int i = 1; i < length; i++) {
+                        row[i] += prev[i];
+                    }
+                    break;
+                case 3:
+                    for (int i = 1; i < length; i++) {
+                        int left = (i > bpp) ? row[i - bpp] & 0xFF : 0;
+                        row[i] += (left + (prev[i] & 0xFF)) >>> 1;
+                    }
+                    break;
+                case 4:
+                    for (int i = 1; i < length; i++) {
+                        int left = (i > bpp) ? row[i - bpp] & 0xFF : 0;
+                        int upLeft = (i > bpp) ? prev[i - bpp] & 0xFF : 0;
+                        row[i] += paeth(left, prev[i] & 0xFF, upLeft);
+                    }
+                    break;
+                default:
+                    throw new JemmyException("Unknown filter type " + row[0]);
+            }
+        }
+
+        private void toARGB() {
+            byte[] row = current;
+            if (depth == 8 && transparent == null) {
+                switch (colorType) {
+                    case TRUECOLOR:
+                        for (int x = 0, i = 1; x < width; x++, i += 3) {
+                            argb[x] = 0xFF000000 | ((row[i] & 0xFF) << 16)
+                                    | ((row[i + 1] & 0xFF) << 8) | (row[i + 2] & 0xFF);
+                        }
+                        return;
+                    case TRUECOLOR_ALPHA:
+                        for (int x = 0, i = 1; x < width; x++, i += 4) {
+                            argb[x] = ((row[i + 3] & 0xFF) << 24) | ((row[i] & 0xFF) << 16)
+                                    | ((row[i + 1] & 0xFF) << 8) | (row[i + 2] & 0xFF);
+                        }
+                        return;
                 }
-                break;
-            case PNGSaver.COLOR_MODE:
-                {
-                    byte[] row = new byte[width * 3];
-                    for (int y = 0; y < height; y++) {
-                        inflater.inflate(new byte[1]);
-                        inflater.inflate(row);
-                        for (int x = 0; x < width; x++) {
-                            colors[0] = (row[x * 3 + 0]&0xff);
-                            colors[1] = (row[x * 3 + 1]&0xff);
-                            colors[2] = (row[x * 3 + 2]&0xff);
-                            setColors(result, x, y, colors);
+            }
+            int samples = getSamples();
+            for (int x = 0; x < width; x++) {
+                int index = x * samples;
+                switch (colorType) {
+                    case GREYSCALE: {
+                        int grey = sample(index);
+                        argb[x] = grey(scale(grey))
+                                | ((transparent != null && transparent[0] == grey) ? 0 : 0xFF000000);
+                        break;
+                    }
+                    case GREYSCALE_ALPHA:
+                        argb[x] = grey(scale(sample(index))) | (scale(sample(index + 1)) << 24);
+                        break;
+                    case INDEXED: {
+                        int entry = sample(index);
+                        if (palette == null || entry >= palette.length) {
+                            throw new JemmyException("Format error");
                         }
+                        argb[x] = palette[entry];
+                        break;
                     }
+                    case TRUECOLOR: {
+                        int red = sample(index);
+                        int green = sample(index + 1);
+                        int blue = sample(index + 2);
+                        boolean clear = transparent != null && transparent.length == 3
+                                && transparent[0] == red && transparent[1] == green && transparent[2] == blue;
+                        argb[x] = (clear ? 0 : 0xFF000000)
+                                | (scale(red) << 16) | (scale(green) << 8) | scale(blue);
+                        break;
+                    }
+                    default:
+                        argb[x] = (scale(sample(index + 3)) << 24) | (scale(sample(index)) << 16)
+                                | (scale(sample(index + 1)) << 8) | scale(sample(index + 2));
                 }
             }
-        } catch(DataFormatException e) {
-            throw(new JemmyException("ZIP error", e));
         }
 
-        readInt();//!!crc
-        readInt();//0
-
-        byte[] iend = read(4);
-        checkEquality(iend, "IEND".getBytes());
+        /**
+         * Raw value of a sample with the given index within the row.
+         */
+        private int sample(int index) {
+            byte[] row = current;
+            switch (depth) {
+                case 8:
+                    return row[1 + index] & 0xFF;
+                case 16:
+                    return ((row[1 + index * 2] & 0xFF) << 8) | (row[2 + index * 2] & 0xFF);
+                default:
+                    int bit = index * depth;
+                    return (row[1 + bit / 8] >> (8 - depth - bit % 8)) & ((1 << depth) - 1);
+            }
+        }
 
-        readInt();//!!crc
-        if (closeStream) {
-            in.close();
+        /**
+         * Scales a sample value to 8 bits.
+         */
+        private int scale(int value) {
+            switch (depth) {
+                case 8:
+                    return value;
+                case 16:
+                    return value >>> 8;
+                default:
+                    return value * 0xFF / ((1 << depth) - 1);
+            }
         }
 
-        return(result);
+        private int grey(int value) {
+            return (value << 16) | (value << 8) | value;
+        }
     }
 
-    private void setColors(WriteableRaster raster, int x, int y, int[] colors) {
-        Component[] supported = raster.getSupported();
-        double[] imageColors = new double[supported.length];
-        for (int i = 0; i < supported.length; i++) {
-            if(supported[i] == Component.ALPHA) {
-                imageColors[i] = 1;
-            } else {
-                imageColors[i] = (double)colors[
-                        PixelImageComparator.arrayIndexOf(PNGSaver.RGB, supported[i])]/0xFF;
-            }
+    private static int paeth(int left, int up, int upLeft) {
+        int p = left + up - upLeft;
+        int pLeft = Math.abs(p - left);
+        int pUp = Math.abs(p - up);
+        int pUpLeft = Math.abs(p - upLeft);
+        if (pLeft <= pUp && pLeft <= pUpLeft) {
+            return left;
+        } else if (pUp <= pUpLeft) {
+            return up;
+        } else {
+            return upLeft;
         }
-        raster.setColors(x, y, imageColors);
     }
-
 }
@@ -28,9 +28,11 @@ import java.io.*;
 import java.util.zip.CRC32;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
-import org.jemmy.image.pixel.Raster.Component;
 
 /**
+ * Encodes rasters into PNG. Rows are filtered, compressed and written out
+ * in IDAT chunks as the image is being read, so the compressed image is
+ * never kept in memory as a whole.
  *
  * @author shura
  */
@@ -48,12 +50,50 @@ public class PNGSaver {
      * full color image mode.
      */
     public static final byte COLOR_MODE = 2;
+    /**
+     * full color image mode with alpha channel.
+     */
+    public static final byte COLOR_ALPHA_MODE = 3;
+    /**
+     * Rows are written as is.
+     */
+    public static final int FILTER_NONE = 0;
+    /**
+     * Rows are written as a difference with the pixel on the left.
+     */
+    public static final int FILTER_SUB = 1;
+    /**
+     * Rows are written as a difference with the pixel above.
+     */
+    public static final int FILTER_UP = 2;
+    /**
+     * Rows are written as a difference with the average of the pixels on the
+     * left and above.
+     */
+    public static final int FILTER_AVERAGE = 3;
+    /**
+     * Rows are written as a difference with the Paeth predictor.
+     */
+    public static final int FILTER_PAETH = 4;
+    /**
+     * A filter is chosen for every row, the one giving the smallest sum of
+     * absolute differences.
+     */
+    public static final int FILTER_ADAPTIVE = -1;
+    /**
+     * Default maximum length of IDAT chunk data.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 0x10000;
     OutputStream out;
     CRC32 crc;
     byte mode;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int strategy = Deflater.DEFAULT_STRATEGY;
+    private int filter = FILTER_ADAPTIVE;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
 
     public PNGSaver(File file) throws FileNotFoundException {
-        this(new FileOutputStream(file));
+        this(new BufferedOutputStream(new FileOutputStream(file)));
     }
 
     /**
@@ -69,25 +109,99 @@ public class PNGSaver {
      * public constructor of PNGEncoder class.
      *
      * @param out output stream for PNG image format to write into
-     * @param mode BW_MODE, GREYSCALE_MODE or COLOR_MODE
+     * @param mode BW_MODE, GREYSCALE_MODE, COLOR_MODE or COLOR_ALPHA_MODE
      */
     public PNGSaver(OutputStream out, byte mode) {
         crc = new CRC32();
         this.out = out;
-        if (mode < 0 || mode > 2) {
+        if (mode < 0 || mode > COLOR_ALPHA_MODE) {
             throw new IllegalArgumentException("Unknown color mode");
         }
         this.mode = mode;
     }
 
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Sets compression level, {@code Deflater.DEFAULT_COMPRESSION} by default.
+     *
+     * @param compressionLevel a level from 0 to 9 or
+     * {@code Deflater.DEFAULT_COMPRESSION}
+     * @see Deflater#setLevel(int)
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if ((compressionLevel < 0 || compressionLevel > 9)
+                && compressionLevel != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Unknown compression level: " + compressionLevel);
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets compression strategy, {@code Deflater.DEFAULT_STRATEGY} by default.
+     *
+     * @param strategy one of {@code Deflater} strategies
+     * @see Deflater#setStrategy(int)
+     */
+    public void setStrategy(int strategy) {
+        if (strategy != Deflater.DEFAULT_STRATEGY && strategy != Deflater.FILTERED
+                && strategy != Deflater.HUFFMAN_ONLY) {
+            throw new IllegalArgumentException("Unknown compression strategy: " + strategy);
+        }
+        this.strategy = strategy;
+    }
+
+    public int getFilter() {
+        return filter;
+    }
+
+    /**
+     * Sets the row filter, {@code FILTER_ADAPTIVE} by default. Rows of black
+     * and white images are never filtered.
+     *
+     * @param filter one of the {@code FILTER_*} constants
+     */
+    public void setFilter(int filter) {
+        if (filter < FILTER_ADAPTIVE || filter > FILTER_PAETH) {
+            throw new IllegalArgumentException("Unknown filter: " + filter);
+        }
+        this.filter = filter;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets maximum length of IDAT chunk data.
+     *
+     * @param chunkSize the length in bytes
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size should be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
     void write(int i) throws IOException {
         byte b[] = {(byte) ((i >> 24) & 0xff), (byte) ((i >> 16) & 0xff), (byte) ((i >> 8) & 0xff), (byte) (i & 0xff)};
         write(b);
     }
 
     void write(byte b[]) throws IOException {
-        out.write(b);
-        crc.update(b);
+        write(b, 0, b.length);
+    }
+
+    void write(byte b[], int offset, int length) throws IOException {
+        out.write(b, offset, length);
+        crc.update(b, offset, length);
     }
 
     /**
@@ -108,7 +222,7 @@ public class PNGSaver {
      * written
      * @throws IOException IOException
      */
-    private void encode(Raster image, boolean closeStream) throws IOException {
+    public void encode(Raster image, boolean closeStream) throws IOException {
         int width = image.getSize().width;
         int height = image.getSize().height;
         final byte id[] = {-119, 80, 78, 71, 13, 10, 26, 10, 0, 0, 0, 13};
@@ -118,111 +232,220 @@ public class PNGSaver {
         write(width);
         write(height);
         byte head[] = null;
+        int rowBytes = 0;
+        int bpp = 1;
         switch (mode) {
             case BW_MODE:
                 head = new byte[]{1, 0, 0, 0, 0};
+                rowBytes = (width + 7) / 8;
                 break;
             case GREYSCALE_MODE:
                 head = new byte[]{8, 0, 0, 0, 0};
+                rowBytes = width;
                 break;
             case COLOR_MODE:
                 head = new byte[]{8, 2, 0, 0, 0};
+                rowBytes = width * 3;
+                bpp = 3;
+                break;
+            case COLOR_ALPHA_MODE:
+                head = new byte[]{8, 6, 0, 0, 0};
+                rowBytes = width * 4;
+                bpp = 4;
                 break;
         }
         write(head);
         write((int) crc.getValue());
-        ByteArrayOutputStream compressed = new ByteArrayOutputStream(65536);
-        BufferedOutputStream bos = new BufferedOutputStream(new DeflaterOutputStream(compressed, new Deflater(9)));
+        Deflater deflater = new Deflater(compressionLevel);
+        deflater.setStrategy(strategy);
+        ChunkOutputStream chunks = new ChunkOutputStream();
+        DeflaterOutputStream compressed = new DeflaterOutputStream(chunks, deflater, chunkSize);
+        try {
+            int[] row = new int[width];
+            byte[] raw = new byte[rowBytes];
+            byte[] prev = new byte[rowBytes];
+            byte[][] filtered = new byte[FILTER_PAETH + 1][rowBytes + 1];
+            for (int y = 0; y < height; y++) {
+                image.getARGB(0, y, width, 1, row, 0, width);
+                toBytes(row, width, raw);
+                byte[] res = filter(raw, prev, bpp, filtered);
+                compressed.write(res, 0, res.length);
+                byte[] swap = prev;
+                prev = raw;
+                raw = swap;
+            }
+            compressed.finish();
+            chunks.flush();
+        } finally {
+            deflater.end();
+        }
+        write(0);
+        crc.reset();
+        write("IEND".getBytes());
+        write((int) crc.getValue());
+        out.flush();
+        if (closeStream) {
+            out.close();
+        }
+    }
+
+    private void toBytes(int[] row, int width, byte[] raw) {
         int pixel;
         int color;
-        int colorset;
         switch (mode) {
             case BW_MODE:
-                int rest = width % 8;
-                int bytes = width / 8;
-                for (int y = 0; y < height; y++) {
-                    bos.write(0);
-                    for (int x = 0; x < bytes; x++) {
-                        colorset = 0;
-                        for (int sh = 0; sh < 8; sh++) {
-                            pixel = getRGB(image, x * 8 + sh, y);
-                            color = ((pixel >> 16) & 0xff);
-                            color += ((pixel >> 8) & 0xff);
-                            color += (pixel & 0xff);
-                            colorset <<= 1;
-                            if (color >= 3 * 128) {
-                                colorset |= 1;
-                            }
-                        }
-                        bos.write((byte) colorset);
-                    }
-                    if (rest > 0) {
-                        colorset = 0;
-                        for (int sh = 0; sh < width % 8; sh++) {
-                            pixel = getRGB(image, bytes * 8 + sh, y);
-                            color = ((pixel >> 16) & 0xff);
-                            color += ((pixel >> 8) & 0xff);
-                            color += (pixel & 0xff);
-                            colorset <<= 1;
-                            if (color >= 3 * 128) {
-                                colorset |= 1;
-                            }
-                        }
-                        colorset <<= 8 - rest;
-                        bos.write((byte) colorset);
+                for (int i = 0; i < raw.length; i++) {
+                    raw[i] = 0;
+                }
+                for (int x = 0; x < width; x++) {
+                    pixel = row[x];
+                    color = ((pixel >> 16) & 0xff);
+                    color += ((pixel >> 8) & 0xff);
+                    color += (pixel & 0xff);
+                    if (color >= 3 * 128) {
+                        raw[x / 8] |= 0x80 >>> (x % 8);
                     }
                 }
                 break;
             case GREYSCALE_MODE:
-                for (int y = 0; y < height; y++) {
-                    bos.write(0);
-                    for (int x = 0; x < width; x++) {
-                        pixel = getRGB(image, x, y);
-                        color = ((pixel >> 16) & 0xff);
-                        color += ((pixel >> 8) & 0xff);
-                        color += (pixel & 0xff);
-                        bos.write((byte) (color / 3));
-                    }
+                for (int x = 0; x < width; x++) {
+                    pixel = row[x];
+                    color = ((pixel >> 16) & 0xff);
+                    color += ((pixel >> 8) & 0xff);
+                    color += (pixel & 0xff);
+                    raw[x] = (byte) (color / 3);
                 }
                 break;
             case COLOR_MODE:
-                for (int y = 0; y < height; y++) {
-                    bos.write(0);
-                    for (int x = 0; x < width; x++) {
-                        pixel = getRGB(image, x, y);
-                        bos.write((byte) ((pixel >> 16) & 0xff));
-                        bos.write((byte) ((pixel >> 8) & 0xff));
-                        bos.write((byte) (pixel & 0xff));
-                    }
+                for (int x = 0, i = 0; x < width; x++, i += 3) {
+                    pixel = row[x];
+                    raw[i] = (byte) ((pixel >> 16) & 0xff);
+                    raw[i + 1] = (byte) ((pixel >> 8) & 0xff);
+                    raw[i + 2] = (byte) (pixel & 0xff);
+                }
+                break;
+            case COLOR_ALPHA_MODE:
+                for (int x = 0, i = 0; x < width; x++, i += 4) {
+                    pixel = row[x];
+                    raw[i] = (byte) ((pixel >> 16) & 0xff);
+                    raw[i + 1] = (byte) ((pixel >> 8) & 0xff);
+                    raw[i + 2] = (byte) (pixel & 0xff);
+                    raw[i + 3] = (byte) (pixel >>> 24);
                 }
                 break;
         }
-        bos.close();
-        write(compressed.size());
-        crc.reset();
-        write("IDAT".getBytes());
-        write(compressed.toByteArray());
-        write((int) crc.getValue());
-        write(0);
-        crc.reset();
-        write("IEND".getBytes());
-        write((int) crc.getValue());
-        out.flush();
-        if (closeStream) {
-            out.close();
+    }
+
+    /**
+     * Filters a row.
+     *
+     * @return the filter type followed by the filtered row
+     */
+    private byte[] filter(byte[] raw, byte[] prev, int bpp, byte[][] filtered) {
+        if (mode == BW_MODE) {
+            return filter(FILTER_NONE, raw, prev, bpp, filtered[FILTER_NONE]);
+        }
+        if (filter != FILTER_ADAPTIVE) {
+            return filter(filter, raw, prev, bpp, filtered[filter]);
+        }
+        byte[] res = null;
+        long min = Long.MAX_VALUE;
+        for (int type = FILTER_NONE; type <= FILTER_PAETH; type++) {
+            byte[] candidate = filter(type, raw, prev, bpp, filtered[type]);
+            long sum = 0;
+            for (int i = 1; i < candidate.length && sum < min; i++) {
+                sum += Math.abs(candidate[i]);
+            }
+            if (sum < min) {
+                min = sum;
+                res = candidate;
+            }
         }
+        return res;
     }
-    static final Component[] RGB = new Component[]{
-        Component.RED, Component.GREEN, Component.BLUE};
 
-    private int getRGB(Raster image, int x, int y) {
-        int res = 0;
-        double[] colors = new double[image.getSupported().length];
-        image.getColors(x, y, colors);
-        for (Component c : RGB) {
-            res <<= 8;
-            res |= (int)(colors[PixelImageComparator.arrayIndexOf(image.getSupported(), c)] * 0xFF);
+    private static byte[] filter(int type, byte[] raw, byte[] prev, int bpp, byte[] res) {
+        res[0] = (byte) type;
+        switch (type) {
+            case FILTER_NONE:
+                System.arraycopy(raw, 0, res, 1, raw.length);
+                break;
+            case FILTER_SUB:
+                for (int i = 0; i < raw.length; i++) {
+                    res[i + 1] = (byte) (raw[i] - ((i >= bpp) ? raw[i - bpp] : 0));
+                }
+                break;
+            case FILTER_UP:
+                for (int i = 0; i < raw.length; i++) {
+                    res[i + 1] = (byte) (raw[i] - prev[i]);
+                }
+                break;
+            case FILTER_AVERAGE:
+                for (int i = 0; i < raw.length; i++) {
+                    int left = (i >= bpp) ? raw[i - bpp] & 0xff : 0;
+                    res[i + 1] = (byte) (raw[i] - ((left + (prev[i] & 0xff)) >>> 1));
+                }
+                break;
+            case FILTER_PAETH:
+                for (int i = 0; i < raw.length; i++) {
+                    int left = (i >= bpp) ? raw[i - bpp] & 0xff : 0;
+                    int up = prev[i] & 0xff;
+                    int upLeft = (i >= bpp) ? prev[i - bpp] & 0xff : 0;
+                    int p = left + up - upLeft;
+                    int pLeft = Math.abs(p - left);
+                    int pUp = Math.abs(p - up);
+                    int pUpLeft = Math.abs(p - upLeft);
+                    int predictor = (pLeft <= pUp && pLeft <= pUpLeft) ? left : (pUp <= pUpLeft) ? up : upLeft;
+                    res[i + 1] = (byte) (raw[i] - predictor);
+                }
+                break;
         }
         return res;
     }
+
+    /**
+     * Writes compressed data as IDAT chunks of up to {@code chunkSize} bytes.
+     */
+    private class ChunkOutputStream extends OutputStream {
+
+        private final byte[] buffer = new byte[chunkSize];
+        private int count = 0;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flush();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (count == buffer.length) {
+                    flush();
+                }
+                int n = Math.min(length, buffer.length - count);
+                System.arraycopy(b, offset, buffer, count, n);
+                count += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        /**
+         * Writes the collected data as a chunk.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (count > 0) {
+                PNGSaver.this.write(count);
+                crc.reset();
+                PNGSaver.this.write("IDAT".getBytes());
+                PNGSaver.this.write(buffer, 0, count);
+                PNGSaver.this.write((int) crc.getValue());
+                count = 0;
+            }
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.io.File;
+import java.io.IOException;
+import org.jemmy.image.Image;
+import org.jemmy.image.ImageStore;
+
+/**
+ * Saves images into an {@code ImagePack}, so that equal images are only
+ * stored once and all the images go into a single file.
+ *
+ * @see ImagePack
+ */
+public class PackImageStore implements ImageStore {
+
+    private final ImagePack pack;
+
+    /**
+     * @param root directory of the pack
+     */
+    public PackImageStore(File root) {
+        this(ImagePack.open(root));
+    }
+
+    public PackImageStore(ImagePack pack) {
+        this.pack = pack;
+    }
+
+    @Override
+    public void save(Image image, String id) throws IOException {
+        if (!(image instanceof Raster)) {
+            throw new IllegalArgumentException("This implementation only takes rasters");
+        }
+        pack.save((Raster) image, id);
+    }
+
+    public ImagePack getPack() {
+        return pack;
+    }
+}
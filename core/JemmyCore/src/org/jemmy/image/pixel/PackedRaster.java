@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import org.jemmy.Dimension;
+
+/**
+ * A raster which holds 8 bit color components and has at least red, green
+ * and blue. Such a raster loses nothing when read through
+ * {@code getARGB(...)}, so comparators are free to work on packed ARGB values
+ * instead of component values. Implementations are supposed to make
+ * {@code getARGB(...)} fast.
+ */
+public interface PackedRaster extends Raster {
+
+    /**
+     * Computes a 64 bit hash of the size and the pixels of the raster.
+     * Rasters with equal fingerprints are considered to be equal.
+     * @return the hash
+     */
+    public default long fingerprint() {
+        Dimension size = getSize();
+        long res = ((long) size.width << 32) ^ size.height;
+        int[] row = new int[size.width];
+        for (int y = 0; y < size.height; y++) {
+            getARGB(0, y, size.width, 1, row, 0, size.width);
+            for (int i = 0; i < size.width; i++) {
+                res = (res + row[i]) * 0x9E3779B97F4A7C15L;
+                res ^= res >>> 32;
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+/**
+ * Comparison loops over rows of packed ARGB values. The components are
+ * extracted from the packed values directly, with integer arithmetic, rather
+ * than converted to doubles pixel by pixel.
+ *
+ * @see PackedRaster
+ */
+final class PackedRasters {
+
+    private static final double MAX_DISTANCE = 0xFF;
+
+    private PackedRasters() {
+    }
+
+    /**
+     * Tells whether the packed path could be used for both rasters.
+     */
+    static boolean isPacked(Raster image1, Raster image2) {
+        return RasterView.isPacked(image1) && RasterView.isPacked(image2);
+    }
+
+    /**
+     * Number of pixels which differ in the bits of the mask.
+     */
+    static int countDifferent(int[] row1, int[] row2, int width, int mask) {
+        int res = 0;
+        for (int i = 0; i < width; i++) {
+            res += ((row1[i] ^ row2[i]) & mask) != 0 ? 1 : 0;
+        }
+        return res;
+    }
+
+    static int squareDistance(int argb1, int argb2) {
+        int red = ((argb2 >> 16) & 0xFF) - ((argb1 >> 16) & 0xFF);
+        int green = ((argb2 >> 8) & 0xFF) - ((argb1 >> 8) & 0xFF);
+        int blue = (argb2 & 0xFF) - (argb1 & 0xFF);
+        return red * red + green * green + blue * blue;
+    }
+
+    /**
+     * Sum of squared RGB distances in 8 bit units.
+     */
+    static long sumSquareDistance(int[] row1, int[] row2, int width) {
+        long res = 0;
+        for (int i = 0; i < width; i++) {
+            res += squareDistance(row1[i], row2[i]);
+        }
+        return res;
+    }
+
+    /**
+     * Maximum squared RGB distance in 8 bit units.
+     */
+    static int maxSquareDistance(int[] row1, int[] row2, int width) {
+        int res = 0;
+        for (int i = 0; i < width; i++) {
+            res = Math.max(res, squareDistance(row1[i], row2[i]));
+        }
+        return res;
+    }
+
+    /**
+     * Sum of RGB distances with components scaled to (0, 1).
+     */
+    static double sumDistance(int[] row1, int[] row2, int width) {
+        double res = 0;
+        for (int i = 0; i < width; i++) {
+            res += Math.sqrt(squareDistance(row1[i], row2[i]));
+        }
+        return res / MAX_DISTANCE;
+    }
+
+    /**
+     * Converts a squared distance in 8 bit units to a distance with
+     * components scaled to (0, 1).
+     */
+    static double toDistance(long squareDistance) {
+        return Math.sqrt(squareDistance) / MAX_DISTANCE;
+    }
+}
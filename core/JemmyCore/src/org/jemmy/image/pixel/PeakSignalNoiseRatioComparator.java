@@ -43,19 +43,32 @@ public class PeakSignalNoiseRatioComparator implements RasterComparator {
     private static final double MAX_CHANNEL = 1.0;
     private final double minRatio;
 
-    private static double getMeanSquareError(Raster image, Raster original) {
+    static double getMeanSquareError(Raster image, Raster original) {
         double result = 0;
-        double[] colors1 = new double[image.getSupported().length];
-        double[] colors2 = new double[original.getSupported().length];
-
         int w = Math.min(image.getSize().width, original.getSize().width);
         int h = Math.min(image.getSize().height, original.getSize().height);
-        for (int i = 0; i < w; i++) {
+        if (PackedRasters.isPacked(image, original)) {
+            int[] row1 = new int[w];
+            int[] row2 = new int[w];
+            long sum = 0;
             for (int j = 0; j < h; j++) {
-                image.getColors(i, j, colors1);
-                original.getColors(i, j, colors2);
-                double distance = AverageDistanceComparator.distance(image.getSupported(), colors1,
-                        original.getSupported(), colors2);
+                image.getARGB(0, j, w, 1, row1, 0, w);
+                original.getARGB(0, j, w, 1, row2, 0, w);
+                sum += PackedRasters.sumSquareDistance(row1, row2, w);
+            }
+            return (double) sum / (0xFF * 0xFF) / (AverageDistanceComparator.DISTANCE_COMPONENTS.length * w * h);
+        }
+        ComponentLayout layout1 = ComponentLayout.of(image).requireRGB();
+        ComponentLayout layout2 = ComponentLayout.of(original).requireRGB();
+
+        double[] row1 = new double[w * layout1.size()];
+        double[] row2 = new double[w * layout2.size()];
+        for (int j = 0; j < h; j++) {
+            image.getRow(0, j, w, row1);
+            original.getRow(0, j, w, row2);
+            for (int i = 0; i < w; i++) {
+                double distance = AverageDistanceComparator.distance(layout1, row1, i * layout1.size(),
+                        layout2, row2, i * layout2.size());
                 result += distance * distance / (AverageDistanceComparator.DISTANCE_COMPONENTS.length * w * h);
             }
         }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Compares perceptual hashes of images. A hash is built out of the low
+ * frequencies of the discrete cosine transform of a 32x32 luminance plane,
+ * so it does not change much with anti-aliasing, small shifts or scaling.
+ * Hashes are compared by the number of different bits. Images of different
+ * sizes could be compared, too.
+ * <p>
+ * Being given a sub comparator, the comparator works as a prefilter: images
+ * with close hashes are considered equal, images with distant hashes are
+ * considered different and only the rest are passed to the sub comparator.
+ * <p>
+ * Flat images have the same hash whatever the color, so average luminance
+ * of the images is compared as well.
+ * <p>
+ * Hashes and averages are kept for as long as the images are in use, so a
+ * golden image compared many times is only hashed once. Images should not be
+ * changed after they have been compared.
+ *
+ * @see org.jemmy.env.Environment#setProperty(java.lang.Class, java.lang.Object)
+ */
+public class PerceptualHashComparator implements RasterComparator {
+
+    /**
+     * Number of bits in a hash.
+     */
+    public static final int HASH_BITS = 64;
+
+    /**
+     * Maximum difference of average luminance of images considered equal.
+     */
+    public static final double MAX_LUMINANCE_DIFFERENCE = 0.05;
+
+    private static final int PLANE_SIZE = 32;
+    private static final int HASH_SIZE = 8;
+    private static final double FLAT = 1e-9;
+    private static final double[][] COSINES = new double[HASH_SIZE][PLANE_SIZE];
+
+    static {
+        for (int u = 0; u < HASH_SIZE; u++) {
+            for (int x = 0; x < PLANE_SIZE; x++) {
+                COSINES[u][x] = Math.cos((2 * x + 1) * u * Math.PI / (2 * PLANE_SIZE));
+            }
+        }
+    }
+
+    private final int sameDistance;
+    private final int differentDistance;
+    private final RasterComparator subComparator;
+    private final Map<Raster, Fingerprint> cache = Collections.synchronizedMap(new WeakHashMap<Raster, Fingerprint>());
+
+    /**
+     * @param maxDistance maximum number of different bits in hashes of the
+     * images considered equal
+     */
+    public PerceptualHashComparator(int maxDistance) {
+        this(maxDistance, maxDistance, null);
+    }
+
+    /**
+     * @param sameDistance maximum number of different bits in hashes of the
+     * images considered equal without further comparison
+     * @param differentDistance number of different bits above which the
+     * images are considered different without further comparison
+     * @param subComparator comparator for the images in between
+     */
+    public PerceptualHashComparator(int sameDistance, int differentDistance, RasterComparator subComparator) {
+        if (sameDistance < 0 || differentDistance < sameDistance || differentDistance > HASH_BITS) {
+            throw new IllegalArgumentException("Expected 0 <= sameDistance <= differentDistance <= "
+                    + HASH_BITS + ". Got: " + sameDistance + ", " + differentDistance);
+        }
+        if (subComparator == null && sameDistance != differentDistance) {
+            throw new IllegalArgumentException("Sub comparator is required for distances "
+                    + sameDistance + " < " + differentDistance);
+        }
+        this.sameDistance = sameDistance;
+        this.differentDistance = differentDistance;
+        this.subComparator = subComparator;
+    }
+
+    public RasterComparator getSubComparator() {
+        return subComparator;
+    }
+
+    /**
+     * Computes the perceptual hash of an image.
+     * @param image the image
+     * @return the hash
+     */
+    public static long hash(Raster image) {
+        return hash(LuminancePlane.of(image, PLANE_SIZE, PLANE_SIZE));
+    }
+
+    private static long hash(double[] plane) {
+        double[] rows = new double[PLANE_SIZE * HASH_SIZE];
+        for (int y = 0; y < PLANE_SIZE; y++) {
+            for (int u = 0; u < HASH_SIZE; u++) {
+                double sum = 0;
+                for (int x = 0; x < PLANE_SIZE; x++) {
+                    sum += plane[y * PLANE_SIZE + x] * COSINES[u][x];
+                }
+                rows[y * HASH_SIZE + u] = sum;
+            }
+        }
+        double[] coefficients = new double[HASH_SIZE * HASH_SIZE];
+        for (int v = 0; v < HASH_SIZE; v++) {
+            for (int u = 0; u < HASH_SIZE; u++) {
+                double sum = 0;
+                for (int y = 0; y < PLANE_SIZE; y++) {
+                    sum += rows[y * HASH_SIZE + u] * COSINES[v][y];
+                }
+                coefficients[v * HASH_SIZE + u] = sum;
+            }
+        }
+        //the DC coefficient is the average and does not take part in the median
+        double[] sorted = Arrays.copyOfRange(coefficients, 1, coefficients.length);
+        Arrays.sort(sorted);
+        double median = (sorted[sorted.length / 2 - 1] + sorted[sorted.length / 2]) / 2;
+        long res = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] - median > FLAT) {
+                res |= 1L << i;
+            }
+        }
+        return res;
+    }
+
+    private static double average(double[] plane) {
+        double sum = 0;
+        for (double value : plane) {
+            sum += value;
+        }
+        return sum / plane.length;
+    }
+
+    /**
+     * @param hash1 a hash
+     * @param hash2 another hash
+     * @return number of different bits
+     */
+    public static int distance(long hash1, long hash2) {
+        return Long.bitCount(hash1 ^ hash2);
+    }
+
+    public boolean compare(Raster image1, Raster image2) {
+        Fingerprint print1 = getFingerprint(image1);
+        Fingerprint print2 = getFingerprint(image2);
+        if (Math.abs(print1.average - print2.average) > MAX_LUMINANCE_DIFFERENCE) {
+            return false;
+        }
+        int distance = distance(print1.hash, print2.hash);
+        if (distance <= sameDistance) {
+            return true;
+        }
+        if (distance > differentDistance) {
+            return false;
+        }
+        return subComparator.compare(image1, image2);
+    }
+
+    private Fingerprint getFingerprint(Raster image) {
+        Fingerprint res = cache.get(image);
+        if (res == null) {
+            res = new Fingerprint(LuminancePlane.of(image, PLANE_SIZE, PLANE_SIZE));
+            cache.put(image, res);
+        }
+        return res;
+    }
+
+    public String getID() {
+        return PerceptualHashComparator.class.getName() + ":" + sameDistance + "," + differentDistance
+                + ((subComparator != null) ? "(" + subComparator.getID() + ")" : "");
+    }
+
+    /**
+     * Average luminance and hash of an image.
+     */
+    private static class Fingerprint {
+
+        private final double average;
+        private final long hash;
+
+        Fingerprint(double[] plane) {
+            average = average(plane);
+            hash = hash(plane);
+        }
+    }
+}
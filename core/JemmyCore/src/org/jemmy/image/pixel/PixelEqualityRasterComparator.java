@@ -24,7 +24,7 @@
  */
 package org.jemmy.image.pixel;
 
-import org.jemmy.Dimension;
+import org.jemmy.Rectangle;
 import org.jemmy.image.Image;
 import org.jemmy.image.pixel.Raster.Component;
 
@@ -52,6 +52,47 @@ public class PixelEqualityRasterComparator extends BaseCountingRasterComparator
         }
     }
 
+    @Override
+    protected int countDifferent(Raster image1, ComponentLayout layout1, Raster image2, ComponentLayout layout2,
+            Rectangle tile, long limit) {
+        if (!PackedRasters.isPacked(image1, image2) || !layout1.hasSameComponents(layout2)) {
+            return super.countDifferent(image1, layout1, image2, layout2, tile, limit);
+        }
+        int mask = layout1.hasAlpha() ? 0xFFFFFFFF : 0x00FFFFFF;
+        int offPixels = 0;
+        int[] row1 = new int[tile.width];
+        int[] row2 = new int[tile.width];
+        for (int y = tile.y; y < tile.y + tile.height && offPixels <= limit; y++) {
+            image1.getARGB(tile.x, y, tile.width, 1, row1, 0, tile.width);
+            image2.getARGB(tile.x, y, tile.width, 1, row2, 0, tile.width);
+            offPixels += PackedRasters.countDifferent(row1, row2, tile.width, mask);
+        }
+        return offPixels;
+    }
+
+    @Override
+    protected boolean compare(ComponentLayout layout1, double[] colors1,
+            ComponentLayout layout2, double[] colors2) {
+        if (colors1.length != colors2.length) {
+            return false;
+        }
+        if (layout1.isSame(layout2)) {
+            for (int i = 0; i < colors1.length; i++) {
+                if (colors1[i] != colors2[i]) {
+                    return false;
+                }
+            }
+        } else {
+            Raster.Component[] comps1 = layout1.components();
+            for (int i = 0; i < colors1.length; i++) {
+                if (colors1[i] != colors2[layout2.require(comps1[i])]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     public String getID() {
         return PixelEqualityRasterComparator.class.getName() + ":" + getThreshold();
     }
@@ -26,6 +26,7 @@ package org.jemmy.image.pixel;
 
 import java.util.Arrays;
 import org.jemmy.Dimension;
+import org.jemmy.Rectangle;
 import org.jemmy.env.Environment;
 import org.jemmy.image.Image;
 import org.jemmy.image.ImageComparator;
@@ -79,40 +80,132 @@ public abstract class PixelImageComparator implements ImageComparator {
         }
     }
 
-    public WriteableRaster computeDifference(Raster image1, Raster image2) {
+    /**
+     * Builds the difference image. The rasters are processed tile by tile, in
+     * parallel if the rasters and the difference raster are all
+     * {@code ConcurrentRaster}s. Rows which are equal in both rasters are
+     * filled with the difference color of their first pixel rather than
+     * computed pixel by pixel.
+     * @param image1 the first raster
+     * @param image2 the second raster
+     * @return the difference
+     */
+    public WriteableRaster computeDifference(final Raster image1, final Raster image2) {
         Dimension size = computeDiffSize(image1, image2);
         if (size == null) {
             size = new Dimension(Math.max(image1.getSize().width, image2.getSize().width),
                     Math.max(image1.getSize().height, image2.getSize().height));
         }
-        WriteableRaster res = createDiffRaster(image1, image2);
-        double[] colors1 = new double[image1.getSupported().length];
-        double[] colors2 = new double[image2.getSupported().length];
-        double[] colorsRes = new double[res.getSupported().length];
-        for (int x = 0; x < size.width; x++) {
-            for (int y = 0; y < size.height; y++) {
-                if (x < image1.getSize().width && y < image1.getSize().height) {
-                    image1.getColors(x, y, colors1);
-                } else {
-                    Arrays.fill(colors1, 0);
+        final WriteableRaster res = createDiffRaster(image1, image2);
+        final ComponentLayout layout1 = ComponentLayout.of(image1);
+        final ComponentLayout layout2 = ComponentLayout.of(image2);
+        final ComponentLayout layoutRes = ComponentLayout.of(res);
+        RasterTiles.visit(size, RasterTiles.isConcurrent(image1, image2, res), new RasterTiles.TileVisitor() {
+            public boolean visit(Rectangle tile) {
+                computeDifference(image1, layout1, image2, layout2, res, layoutRes, tile);
+                return true;
+            }
+        });
+        return res;
+    }
+
+    private void computeDifference(Raster image1, ComponentLayout layout1, Raster image2, ComponentLayout layout2,
+            WriteableRaster res, ComponentLayout layoutRes, Rectangle tile) {
+        Dimension size1 = image1.getSize();
+        Dimension size2 = image2.getSize();
+        boolean sameLayout = layout1.isSame(layout2);
+        double[] row1 = new double[tile.width * layout1.size()];
+        double[] row2 = new double[tile.width * layout2.size()];
+        double[] rowRes = new double[tile.width * layoutRes.size()];
+        for (int y = tile.y; y < tile.y + tile.height; y++) {
+            int width1 = (y < size1.height) ? Math.max(0, Math.min(tile.width, size1.width - tile.x)) : 0;
+            int width2 = (y < size2.height) ? Math.max(0, Math.min(tile.width, size2.width - tile.x)) : 0;
+            if (width1 > 0) {
+                image1.getRow(tile.x, y, width1, row1);
+            }
+            Arrays.fill(row1, width1 * layout1.size(), row1.length, 0);
+            if (width2 > 0) {
+                image2.getRow(tile.x, y, width2, row2);
+            }
+            Arrays.fill(row2, width2 * layout2.size(), row2.length, 1);
+            if (sameLayout && width1 == tile.width && width2 == tile.width && Arrays.equals(row1, row2)) {
+                diffColor(layout1, row1, 0, layout2, row2, 0, layoutRes, rowRes, 0);
+                for (int x = 1; x < tile.width; x++) {
+                    System.arraycopy(rowRes, 0, rowRes, x * layoutRes.size(), layoutRes.size());
                 }
-                if (x < image2.getSize().width && y < image2.getSize().height) {
-                    image2.getColors(x, y, colors2);
-                } else {
-                    Arrays.fill(colors2, 1);
+            } else {
+                for (int x = 0; x < tile.width; x++) {
+                    diffColor(layout1, row1, x * layout1.size(), layout2, row2, x * layout2.size(),
+                            layoutRes, rowRes, x * layoutRes.size());
                 }
-                calcDiffColor(image1.getSupported(), colors1, image2.getSupported(), colors2,
-                        res.getSupported(), colorsRes);
-                res.setColors(x, y, colorsRes);
             }
+            res.setRow(tile.x, y, tile.width, rowRes);
         }
-        return res;
     }
 
     private static final Component[] diffComponents = {
         Component.RED, Component.BLUE, Component.GREEN
     };
 
+    /**
+     * Tells whether a class overrides the methods taking component arrays.
+     */
+    private static final ClassValue<Boolean> LEGACY = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> cls = type; cls != PixelImageComparator.class; cls = cls.getSuperclass()) {
+                try {
+                    cls.getDeclaredMethod("calcDiffColor", Component[].class, double[].class,
+                            Component[].class, double[].class, Component[].class, double[].class);
+                    return true;
+                } catch (NoSuchMethodException e) {
+                    //look further
+                }
+                try {
+                    cls.getDeclaredMethod("getComponentValue", Component[].class, double[].class,
+                            Component.class);
+                    return true;
+                } catch (NoSuchMethodException e) {
+                    //look further
+                }
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Computes a pixel of the difference image through the methods taking
+     * component arrays if a subclass overrides them, through the layout ones
+     * otherwise.
+     */
+    private void diffColor(ComponentLayout layout1, double[] colors1, int offset1,
+            ComponentLayout layout2, double[] colors2, int offset2,
+            ComponentLayout layoutRes, double[] colorsRes, int offsetRes) {
+        if (!LEGACY.get(getClass())) {
+            calcDiffColor(layout1, colors1, offset1, layout2, colors2, offset2, layoutRes, colorsRes, offsetRes);
+            return;
+        }
+        double[] pixel1 = Arrays.copyOfRange(colors1, offset1, offset1 + layout1.size());
+        double[] pixel2 = Arrays.copyOfRange(colors2, offset2, offset2 + layout2.size());
+        double[] pixelRes = new double[layoutRes.size()];
+        calcDiffColor(layout1.components(), pixel1, layout2.components(), pixel2,
+                layoutRes.components(), pixelRes);
+        System.arraycopy(pixelRes, 0, colorsRes, offsetRes, pixelRes.length);
+    }
+
+    /**
+     * Computes color of a pixel of the difference image. The difference is
+     * computed by this method, rather than by
+     * {@code calcDiffColor(ComponentLayout, ...)}, if a subclass overrides it
+     * or {@code getComponentValue(Component[], double[], Component)}, which
+     * is slower.
+     * @param comps1 components of the first image
+     * @param colors1 component values of the first image
+     * @param comps2 components of the second image
+     * @param colors2 component values of the second image
+     * @param compsRes components of the difference image
+     * @param colorsRes component values of the difference image
+     */
     protected void calcDiffColor(Raster.Component[] comps1, double[] colors1,
             Raster.Component[] comps2, double[] colors2, Raster.Component[] compsRes, double[] colorsRes) {
         double square1, square2;
@@ -124,11 +217,52 @@ public abstract class PixelImageComparator implements ImageComparator {
             dist += (square2 - square1) * (square2 - square1);
         }
         for (Component c : diffComponents) {
-            colorsRes[arrayIndexOf(compsRes, c)] = Math.sqrt(dist) / Math.sqrt(3);
+            colorsRes[arrayIndexOf(compsRes, c)] = Math.sqrt(dist) / SQRT_3;
         }
         colorsRes[arrayIndexOf(compsRes, Component.ALPHA)] = 1;
     }
 
+    /**
+     * Computes color of a pixel of the difference image. Pixels are given by
+     * their offsets within arrays of component values.
+     * @param layout1 components of the first image
+     * @param colors1 component values of the first image
+     * @param offset1 the first image pixel offset
+     * @param layout2 components of the second image
+     * @param colors2 component values of the second image
+     * @param offset2 the second image pixel offset
+     * @param layoutRes components of the difference image
+     * @param colorsRes component values of the difference image
+     * @param offsetRes the difference image pixel offset
+     */
+    protected void calcDiffColor(ComponentLayout layout1, double[] colors1, int offset1,
+            ComponentLayout layout2, double[] colors2, int offset2,
+            ComponentLayout layoutRes, double[] colorsRes, int offsetRes) {
+        double square1, square2;
+        double dist = 0;
+
+        for (Component c : diffComponents) {
+            square1 = getComponentValue(layout1, colors1, offset1, c);
+            square2 = getComponentValue(layout2, colors2, offset2, c);
+            dist += (square2 - square1) * (square2 - square1);
+        }
+        double value = Math.sqrt(dist) / SQRT_3;
+        if (layoutRes.isRGB()) {
+            colorsRes[offsetRes] = value;
+            colorsRes[offsetRes + 1] = value;
+            colorsRes[offsetRes + 2] = value;
+        } else {
+            for (Component c : diffComponents) {
+                colorsRes[offsetRes + layoutRes.require(c)] = value;
+            }
+        }
+        if (layoutRes.hasAlpha()) {
+            colorsRes[offsetRes + layoutRes.alpha()] = 1;
+        }
+    }
+
+    private static final double SQRT_3 = Math.sqrt(3);
+
     public String getID() {
         return getRasterComparator().getID();
     }
@@ -160,17 +294,38 @@ public abstract class PixelImageComparator implements ImageComparator {
      * opaque background
      */
     protected double getComponentValue(Component[] components, double[] colors, Component comp) {
+        int idxAlpha = -1;
+        for (int i = 0; i < components.length; i++) {
+            if (components[i] == Component.ALPHA) {
+                idxAlpha = i;
+                break;
+            }
+        }
+        return getComponentValue(colors, arrayIndexOf(components, comp), idxAlpha);
+    }
 
-        double result = colors[arrayIndexOf(components, comp)];
+    /**
+     * Returns color component value using its alpha information
+     *
+     * @param layout available color components
+     * @param colors color components values
+     * @param offset index of the pixel first component within colors
+     * @param comp required color component
+     *
+     * @return value of the required color component.
+     * If pixel is not opaque, then it is blended with white
+     * opaque background
+     */
+    protected double getComponentValue(ComponentLayout layout, double[] colors, int offset, Component comp) {
+        return getComponentValue(colors, offset + layout.require(comp),
+                layout.hasAlpha() ? offset + layout.alpha() : -1);
+    }
 
-        if(result < 0.0 || result > 1.0) throw new IllegalStateException("Component value = " + result);
+    private static double getComponentValue(double[] colors, int idx, int idxAlpha) {
 
-        //Find alpha index if exists
-        int idxAlpha = -1;
-        try {
-            idxAlpha = arrayIndexOf(components, Component.ALPHA);
-        } catch (IllegalArgumentException ex) {
-        }
+        double result = colors[idx];
+
+        if(result < 0.0 || result > 1.0) throw new IllegalStateException("Component value = " + result);
 
         //If alpha component is available
         if (idxAlpha != -1) {
@@ -56,4 +56,102 @@ public interface Raster {
      */
     public Component[] getSupported();
 
+    /**
+     * Reads a part of a row. Values of the pixels are written one after
+     * another, components of every pixel are in the {@code getSupported()}
+     * order, just like {@code getColors(int, int, double[])} writes them.
+     * @param x first column
+     * @param y the row
+     * @param width number of pixels to read
+     * @param colors array to write into, at least
+     * {@code width * getSupported().length} long
+     */
+    public default void getRow(int x, int y, int width, double[] colors) {
+        int comps = getSupported().length;
+        double[] pixel = new double[comps];
+        for (int i = 0; i < width; i++) {
+            getColors(x + i, y, pixel);
+            System.arraycopy(pixel, 0, colors, i * comps, comps);
+        }
+    }
+
+    /**
+     * Reads a region as packed 8 bit per component ARGB values. Pixels are
+     * opaque if there is no alpha component.
+     * @param x left column of the region
+     * @param y top row of the region
+     * @param width region width
+     * @param height region height
+     * @param argb array to write into
+     * @param offset index of the first pixel in the array
+     * @param scansize distance between rows in the array
+     */
+    public default void getARGB(int x, int y, int width, int height, int[] argb, int offset, int scansize) {
+        Component[] supported = getSupported();
+        int comps = supported.length;
+        double[] row = new double[width * comps];
+        for (int j = 0; j < height; j++) {
+            getRow(x, y + j, width, row);
+            for (int i = 0; i < width; i++) {
+                argb[offset + j * scansize + i] = toARGB(supported, row, i * comps);
+            }
+        }
+    }
+
+    /**
+     * Packs components of a pixel into an ARGB value.
+     * @param supported components of the pixel
+     * @param colors component values
+     * @param offset index of the first component of the pixel
+     * @return the ARGB value
+     */
+    public static int toARGB(Component[] supported, double[] colors, int offset) {
+        int res = 0xFF000000;
+        for (int i = 0; i < supported.length; i++) {
+            int value = (int) Math.round(colors[offset + i] * 0xFF);
+            switch (supported[i]) {
+                case ALPHA:
+                    res = (res & 0x00FFFFFF) | (value << 24);
+                    break;
+                case RED:
+                    res |= value << 16;
+                    break;
+                case GREEN:
+                    res |= value << 8;
+                    break;
+                case BLUE:
+                    res |= value;
+                    break;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Unpacks an ARGB value into components of a pixel.
+     * @param argb the ARGB value
+     * @param supported components of the pixel
+     * @param colors array to write the values into
+     * @param offset index of the first component of the pixel
+     */
+    public static void fromARGB(int argb, Component[] supported, double[] colors, int offset) {
+        for (int i = 0; i < supported.length; i++) {
+            int value;
+            switch (supported[i]) {
+                case ALPHA:
+                    value = argb >>> 24;
+                    break;
+                case RED:
+                    value = (argb >> 16) & 0xFF;
+                    break;
+                case GREEN:
+                    value = (argb >> 8) & 0xFF;
+                    break;
+                default:
+                    value = argb & 0xFF;
+                    break;
+            }
+            colors[offset + i] = (double) value / 0xFF;
+        }
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jemmy.Dimension;
+import org.jemmy.Rectangle;
+
+/**
+ * Splits an area into square tiles and visits them, in parallel if the
+ * rasters allow that.
+ *
+ * @see ConcurrentRaster
+ */
+final class RasterTiles {
+
+    /**
+     * Tile side in pixels.
+     */
+    static final int TILE_SIZE = 64;
+
+    private static final int LEAF_TILES = 4;
+
+    private RasterTiles() {
+    }
+
+    /**
+     * Something to do with a tile.
+     */
+    interface TileVisitor {
+
+        /**
+         * @param tile the tile
+         * @return false if the rest of the tiles should not be visited
+         */
+        boolean visit(Rectangle tile);
+    }
+
+    /**
+     * Tells whether all the rasters could be accessed concurrently.
+     */
+    static boolean isConcurrent(Raster... rasters) {
+        for (Raster r : rasters) {
+            if (!RasterView.isConcurrent(r)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static List<Rectangle> split(Dimension size) {
+        List<Rectangle> res = new ArrayList<Rectangle>();
+        for (int y = 0; y < size.height; y += TILE_SIZE) {
+            for (int x = 0; x < size.width; x += TILE_SIZE) {
+                res.add(new Rectangle(x, y,
+                        Math.min(TILE_SIZE, size.width - x), Math.min(TILE_SIZE, size.height - y)));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Visits the tiles of an area until the visitor asks to stop.
+     * @param size the area size
+     * @param concurrent whether the tiles could be visited in parallel
+     * @param visitor the visitor, which has to be thread safe if
+     * {@code concurrent} is true
+     * @return false if the visitor has asked to stop
+     */
+    static boolean visit(Dimension size, boolean concurrent, TileVisitor visitor) {
+        List<Rectangle> tiles = split(size);
+        if (!concurrent || tiles.size() <= LEAF_TILES) {
+            for (Rectangle tile : tiles) {
+                if (!visitor.visit(tile)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        VisitTask task = new VisitTask(tiles, 0, tiles.size(), visitor, new AtomicBoolean());
+        ForkJoinPool.commonPool().invoke(task);
+        return !task.stopped.get();
+    }
+
+    private static class VisitTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Rectangle> tiles;
+        private final int from;
+        private final int to;
+        private final TileVisitor visitor;
+        private final AtomicBoolean stopped;
+
+        VisitTask(List<Rectangle> tiles, int from, int to, TileVisitor visitor, AtomicBoolean stopped) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+            this.visitor = visitor;
+            this.stopped = stopped;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_TILES) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new VisitTask(tiles, from, middle, visitor, stopped),
+                        new VisitTask(tiles, middle, to, visitor, stopped));
+                return;
+            }
+            for (int i = from; i < to && !stopped.get(); i++) {
+                if (!visitor.visit(tiles.get(i))) {
+                    stopped.set(true);
+                }
+            }
+        }
+    }
+}
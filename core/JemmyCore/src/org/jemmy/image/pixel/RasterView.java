@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import org.jemmy.Dimension;
+import org.jemmy.Rectangle;
+import org.jemmy.image.pixel.ColorMappingComparator.ColorMap;
+
+/**
+ * A raster which reads its pixels from another raster on demand instead of
+ * holding a copy. Views could be cropped, recolored and resized and could be
+ * stacked one on another; nothing is allocated for the pixels until the view
+ * is copied by {@code copyTo(WriteableRaster)}.
+ *
+ * @see #crop(Raster, Rectangle)
+ * @see #map(Raster, ColorMap)
+ * @see #resize(Raster, Dimension)
+ */
+public abstract class RasterView implements Raster {
+
+    private final Raster source;
+
+    /**
+     * @param source the raster to read the pixels from
+     */
+    protected RasterView(Raster source) {
+        this.source = source;
+    }
+
+    /**
+     * @return the raster the pixels are read from
+     */
+    public Raster getSource() {
+        return source;
+    }
+
+    public Component[] getSupported() {
+        return source.getSupported();
+    }
+
+    /**
+     * Tells whether the view loses nothing when read through
+     * {@code getARGB(...)}, just like a {@code PackedRaster}.
+     * @return false unless the view keeps the pixel values of a packed raster
+     */
+    public boolean isPacked() {
+        return false;
+    }
+
+    /**
+     * Views are read only, so a view could be read from several threads if
+     * its source could.
+     * @return true if the source could be read concurrently
+     */
+    public boolean isConcurrent() {
+        return isConcurrent(source);
+    }
+
+    /**
+     * Copies the pixels of the view.
+     * @param target the raster to write into, at least as large as the view
+     * @return the target
+     */
+    public <T extends WriteableRaster> T copyTo(T target) {
+        Dimension size = getSize();
+        if (isPacked()) {
+            int[] row = new int[size.width];
+            for (int y = 0; y < size.height; y++) {
+                getARGB(0, y, size.width, 1, row, 0, size.width);
+                target.setARGB(0, y, size.width, 1, row, 0, size.width);
+            }
+        } else {
+            ComponentLayout layout = ComponentLayout.of(this);
+            ComponentLayout targetLayout = ComponentLayout.of(target);
+            double[] row = new double[size.width * layout.size()];
+            double[] targetRow = layout.isSame(targetLayout) ? row : new double[size.width * targetLayout.size()];
+            int[] indexes = new int[targetLayout.size()];
+            for (int c = 0; c < indexes.length; c++) {
+                indexes[c] = layout.indexOf(targetLayout.components()[c]);
+            }
+            for (int y = 0; y < size.height; y++) {
+                getRow(0, y, size.width, row);
+                if (targetRow != row) {
+                    for (int x = 0; x < size.width; x++) {
+                        for (int c = 0; c < indexes.length; c++) {
+                            targetRow[x * indexes.length + c] = (indexes[c] >= 0) ? row[x * layout.size() + indexes[c]] : 1;
+                        }
+                    }
+                }
+                target.setRow(0, y, size.width, targetRow);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Tells whether a raster, or a view of a raster, is packed.
+     * @param raster the raster
+     * @return true if the raster is a {@code PackedRaster} or a packed view
+     */
+    static boolean isPacked(Raster raster) {
+        return (raster instanceof PackedRaster)
+                || (raster instanceof RasterView && ((RasterView) raster).isPacked());
+    }
+
+    /**
+     * Tells whether a raster, or a view of a raster, could be read
+     * concurrently.
+     * @param raster the raster
+     * @return true if the raster is a {@code ConcurrentRaster} or a concurrent
+     * view
+     */
+    static boolean isConcurrent(Raster raster) {
+        return (raster instanceof ConcurrentRaster)
+                || (raster instanceof RasterView && ((RasterView) raster).isConcurrent());
+    }
+
+    /**
+     * Creates a view of a part of a raster.
+     * @param source the raster
+     * @param area the part, should be within the raster
+     * @return the view
+     */
+    public static RasterView crop(Raster source, Rectangle area) {
+        Dimension size = source.getSize();
+        if (area.x < 0 || area.y < 0 || area.width < 0 || area.height < 0
+                || area.x + area.width > size.width || area.y + area.height > size.height) {
+            throw new IllegalArgumentException("Area " + area + " is out of the raster " + size);
+        }
+        return new CropView(source, area);
+    }
+
+    /**
+     * Creates a view with colors of a raster mapped.
+     * @param source the raster
+     * @param map the mapping applied to every pixel as it is read
+     * @return the view
+     */
+    public static RasterView map(Raster source, ColorMap map) {
+        return new MapView(source, map);
+    }
+
+    /**
+     * Creates a view of a raster scaled to a size. Every pixel of the view is
+     * the nearest pixel of the raster, so pixel values are kept.
+     * @param source the raster
+     * @param size the size of the view
+     * @return the view
+     */
+    public static RasterView resize(Raster source, Dimension size) {
+        return new ResizeView(source, size);
+    }
+
+    private static class CropView extends RasterView {
+
+        private final int dx, dy;
+        private final Dimension size;
+
+        CropView(Raster source, Rectangle area) {
+            super(source);
+            dx = area.x;
+            dy = area.y;
+            size = new Dimension(area.width, area.height);
+        }
+
+        public Dimension getSize() {
+            return new Dimension(size.width, size.height);
+        }
+
+        public void getColors(int x, int y, double[] colors) {
+            getSource().getColors(dx + x, dy + y, colors);
+        }
+
+        @Override
+        public void getRow(int x, int y, int width, double[] colors) {
+            getSource().getRow(dx + x, dy + y, width, colors);
+        }
+
+        @Override
+        public void getARGB(int x, int y, int width, int height, int[] argb, int offset, int scansize) {
+            getSource().getARGB(dx + x, dy + y, width, height, argb, offset, scansize);
+        }
+
+        @Override
+        public boolean isPacked() {
+            return isPacked(getSource());
+        }
+    }
+
+    private static class MapView extends RasterView {
+
+        private final ColorMap map;
+
+        MapView(Raster source, ColorMap map) {
+            super(source);
+            this.map = map;
+        }
+
+        public Dimension getSize() {
+            return getSource().getSize();
+        }
+
+        public void getColors(int x, int y, double[] colors) {
+            Component[] supported = getSupported();
+            double[] original = new double[supported.length];
+            getSource().getColors(x, y, original);
+            map.map(supported, original, colors);
+        }
+
+        @Override
+        public void getRow(int x, int y, int width, double[] colors) {
+            Component[] supported = getSupported();
+            double[] original = new double[supported.length];
+            double[] mapped = new double[supported.length];
+            getSource().getRow(x, y, width, colors);
+            for (int i = 0; i < width; i++) {
+                System.arraycopy(colors, i * supported.length, original, 0, supported.length);
+                map.map(supported, original, mapped);
+                System.arraycopy(mapped, 0, colors, i * supported.length, supported.length);
+            }
+        }
+    }
+
+    private static class ResizeView extends RasterView {
+
+        private final Dimension size;
+        private final Dimension sourceSize;
+
+        ResizeView(Raster source, Dimension size) {
+            super(source);
+            this.size = new Dimension(size.width, size.height);
+            this.sourceSize = source.getSize();
+        }
+
+        public Dimension getSize() {
+            return new Dimension(size.width, size.height);
+        }
+
+        private int sourceX(int x) {
+            return (int) ((long) x * sourceSize.width / size.width);
+        }
+
+        private int sourceY(int y) {
+            return (int) ((long) y * sourceSize.height / size.height);
+        }
+
+        public void getColors(int x, int y, double[] colors) {
+            getSource().getColors(sourceX(x), sourceY(y), colors);
+        }
+
+        @Override
+        public void getRow(int x, int y, int width, double[] colors) {
+            if (width == 0) {
+                return;
+            }
+            int comps = getSupported().length;
+            int from = sourceX(x);
+            int span = sourceX(x + width - 1) - from + 1;
+            double[] row = new double[span * comps];
+            getSource().getRow(from, sourceY(y), span, row);
+            for (int i = 0; i < width; i++) {
+                System.arraycopy(row, (sourceX(x + i) - from) * comps, colors, i * comps, comps);
+            }
+        }
+
+        @Override
+        public void getARGB(int x, int y, int width, int height, int[] argb, int offset, int scansize) {
+            if (width == 0) {
+                return;
+            }
+            int from = sourceX(x);
+            int span = sourceX(x + width - 1) - from + 1;
+            int[] row = new int[span];
+            int last = -1;
+            for (int j = 0; j < height; j++) {
+                int sy = sourceY(y + j);
+                int start = offset + j * scansize;
+                if (sy == last) {
+                    System.arraycopy(argb, start - scansize, argb, start, width);
+                    continue;
+                }
+                getSource().getARGB(from, sy, span, 1, row, 0, span);
+                for (int i = 0; i < width; i++) {
+                    argb[start + i] = row[sourceX(x + i) - from];
+                }
+                last = sy;
+            }
+        }
+
+        @Override
+        public boolean isPacked() {
+            return isPacked(getSource());
+        }
+    }
+}
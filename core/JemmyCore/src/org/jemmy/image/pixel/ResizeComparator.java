@@ -80,8 +80,8 @@ public abstract class ResizeComparator implements ImageComparator {
             default:
                 throw new IllegalStateException("mode is not recognized");
         }
-        Image r1 = resize(image1, size);
-        Image r2 = resize(image2, size);
+        Image r1 = size.equals(getSize(image1)) ? image1 : resize(image1, size);
+        Image r2 = size.equals(getSize(image2)) ? image2 : resize(image2, size);
         if(r1 == null) {
             return image1;
         }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import org.jemmy.Dimension;
+
+/**
+ * Compares images by the mean structural similarity index (SSIM). The
+ * index is computed over all square windows of luminance planes of the
+ * images. Large images are downsampled first, so that planes are no more
+ * than {@code getMaxSide()} pixels wide or high. The index is 1 for equal
+ * images and gets lower as local luminance, contrast and structure differ;
+ * unlike per pixel distances, it changes little with anti-aliasing.
+ * <p>
+ * Threshold is the minimum index of images considered equal.
+ *
+ * @see org.jemmy.env.Environment#setProperty(java.lang.Class, java.lang.Object)
+ */
+public class StructuralSimilarityComparator extends ThresholdComparator {
+
+    public static final int DEFAULT_WINDOW = 8;
+    public static final int DEFAULT_MAX_SIDE = 256;
+
+    private static final double C1 = 0.01 * 0.01;
+    private static final double C2 = 0.03 * 0.03;
+
+    private final int window;
+    private final int maxSide;
+
+    /**
+     * @param threshold minimum similarity of images considered equal
+     * @param window window side in plane pixels
+     * @param maxSide maximum plane side
+     */
+    public StructuralSimilarityComparator(double threshold, int window, int maxSide) {
+        super(-1, 1);
+        if (window < 1 || maxSide < 1) {
+            throw new IllegalArgumentException("Window and plane sides should be positive. Got: "
+                    + window + ", " + maxSide);
+        }
+        setThreshold(threshold);
+        this.window = window;
+        this.maxSide = maxSide;
+    }
+
+    /**
+     * Uses {@code DEFAULT_WINDOW} and {@code DEFAULT_MAX_SIDE}.
+     * @param threshold minimum similarity of images considered equal
+     */
+    public StructuralSimilarityComparator(double threshold) {
+        this(threshold, DEFAULT_WINDOW, DEFAULT_MAX_SIDE);
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public int getMaxSide() {
+        return maxSide;
+    }
+
+    public boolean compare(Raster image1, Raster image2) {
+        Dimension size = PixelImageComparator.computeDiffSize(image1, image2);
+        if (size == null) {
+            return false;
+        }
+        return getSimilarity(image1, image2) >= getThreshold();
+    }
+
+    /**
+     * Computes the mean structural similarity of images of the same size.
+     * @param image1 an image
+     * @param image2 another image
+     * @return the index, within (-1, 1)
+     */
+    public double getSimilarity(Raster image1, Raster image2) {
+        Dimension size = image1.getSize();
+        if (size.width == 0 || size.height == 0) {
+            return 1;
+        }
+        int factor = (Math.max(size.width, size.height) + maxSide - 1) / maxSide;
+        int width = (size.width + factor - 1) / factor;
+        int height = (size.height + factor - 1) / factor;
+        return similarity(LuminancePlane.of(image1, width, height),
+                LuminancePlane.of(image2, width, height), width, height,
+                Math.min(window, Math.min(width, height)));
+    }
+
+    /**
+     * Sliding window statistics come from summed area tables, so every
+     * window costs the same whatever its size.
+     */
+    private static double similarity(double[] plane1, double[] plane2, int width, int height, int side) {
+        int stride = width + 1;
+        double[] sum1 = new double[stride * (height + 1)];
+        double[] sum2 = new double[sum1.length];
+        double[] square1 = new double[sum1.length];
+        double[] square2 = new double[sum1.length];
+        double[] product = new double[sum1.length];
+        for (int y = 0; y < height; y++) {
+            double row1 = 0, row2 = 0, rowSquare1 = 0, rowSquare2 = 0, rowProduct = 0;
+            for (int x = 0; x < width; x++) {
+                double v1 = plane1[y * width + x];
+                double v2 = plane2[y * width + x];
+                row1 += v1;
+                row2 += v2;
+                rowSquare1 += v1 * v1;
+                rowSquare2 += v2 * v2;
+                rowProduct += v1 * v2;
+                int index = (y + 1) * stride + x + 1;
+                sum1[index] = sum1[index - stride] + row1;
+                sum2[index] = sum2[index - stride] + row2;
+                square1[index] = square1[index - stride] + rowSquare1;
+                square2[index] = square2[index - stride] + rowSquare2;
+                product[index] = product[index - stride] + rowProduct;
+            }
+        }
+        double n = side * side;
+        double total = 0;
+        for (int y = 0; y + side <= height; y++) {
+            for (int x = 0; x + side <= width; x++) {
+                int a = y * stride + x;
+                int b = a + side;
+                int c = a + side * stride;
+                int d = c + side;
+                double mean1 = (sum1[d] - sum1[b] - sum1[c] + sum1[a]) / n;
+                double mean2 = (sum2[d] - sum2[b] - sum2[c] + sum2[a]) / n;
+                double variance1 = (square1[d] - square1[b] - square1[c] + square1[a]) / n - mean1 * mean1;
+                double variance2 = (square2[d] - square2[b] - square2[c] + square2[a]) / n - mean2 * mean2;
+                double covariance = (product[d] - product[b] - product[c] + product[a]) / n - mean1 * mean2;
+                total += (2 * mean1 * mean2 + C1) * (2 * covariance + C2)
+                        / ((mean1 * mean1 + mean2 * mean2 + C1) * (variance1 + variance2 + C2));
+            }
+        }
+        return total / ((height - side + 1) * (width - side + 1));
+    }
+
+    public String getID() {
+        return StructuralSimilarityComparator.class.getName() + ":" + getThreshold()
+                + "," + window + "," + maxSide;
+    }
+}
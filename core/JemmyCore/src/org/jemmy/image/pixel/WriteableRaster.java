@@ -30,4 +30,43 @@ package org.jemmy.image.pixel;
 public interface WriteableRaster extends Raster {
 
     public void setColors(int x, int y, double[] values);
+
+    /**
+     * Writes a part of a row. Values are expected in the layout produced by
+     * {@code getRow(int, int, int, double[])}.
+     * @param x first column
+     * @param y the row
+     * @param width number of pixels to write
+     * @param values component values of the pixels
+     */
+    public default void setRow(int x, int y, int width, double[] values) {
+        int comps = getSupported().length;
+        double[] pixel = new double[comps];
+        for (int i = 0; i < width; i++) {
+            System.arraycopy(values, i * comps, pixel, 0, comps);
+            setColors(x + i, y, pixel);
+        }
+    }
+
+    /**
+     * Writes a region from packed 8 bit per component ARGB values.
+     * @param x left column of the region
+     * @param y top row of the region
+     * @param width region width
+     * @param height region height
+     * @param argb the values
+     * @param offset index of the first pixel in the array
+     * @param scansize distance between rows in the array
+     */
+    public default void setARGB(int x, int y, int width, int height, int[] argb, int offset, int scansize) {
+        Component[] supported = getSupported();
+        int comps = supported.length;
+        double[] row = new double[width * comps];
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                Raster.fromARGB(argb[offset + j * scansize + i], supported, row, i * comps);
+            }
+            setRow(x, y + j, width, row);
+        }
+    }
 }
@@ -25,7 +25,13 @@
 package org.jemmy.lookup;
 
 import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
 import org.jemmy.interfaces.*;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -120,12 +126,15 @@ public abstract class AbstractLookup<CONTROL> extends AbstractParent<CONTROL> im
      * @see AbstractLookup#OUTPUT
      */
     public Lookup<? extends CONTROL> wait(final int count) {
-        getEnvironment().getOutput(OUTPUT).println("Waiting for " + count + " controls of " + clss.getName() + " class fitting criteria " + criteria);
+        TestOut out = getEnvironment().getOutput(OUTPUT);
+        if (out.isEnabled()) {
+            out.println("Waiting for " + count + " controls of " + clss.getName() + " class fitting criteria " + criteria);
+        }
         env.getWaiter(Lookup.WAIT_CONTROL_TIMEOUT.getName()).ensureState(new State<Integer>() {
 
             public Integer reached() {
                 if(found.size() < count)
-                    refresh();
+                    refresh(count);
                 return (found.size() >= count) ? found.size() : null;
             }
 
@@ -146,34 +155,101 @@ public abstract class AbstractLookup<CONTROL> extends AbstractParent<CONTROL> im
      * @return todo document
      */
     public int size() {
-        getEnvironment().getOutput(OUTPUT).println("Getting number of controls of " + clss.getName() + " class fitting criteria " + criteria);
+        TestOut out = getEnvironment().getOutput(OUTPUT);
+        if (out.isEnabled()) {
+            out.println("Getting number of controls of " + clss.getName() + " class fitting criteria " + criteria);
+        }
         refresh();
         return found.size();
     }
 
     void refresh() {
-        found.clear();
-        List childen = getChildren(null);
-        if (childen != null) {
-            for (Object c : childen) {
-                add(c);
-            }
-        }
+        refresh(Integer.MAX_VALUE);
     }
 
-    @SuppressWarnings("element-type-mismatch")
-    private void add(Object subparent) {
-        if (subparent != null/* && !found.contains(subparent)*/) {
-            if (clss.isInstance(subparent) && check(clss.cast(subparent))) {
-                found.add(clss.cast(subparent));
+    /**
+     * Walks through the hierarchy until <code>count</code> controls fitting
+     * the criteria are found or the hierarchy is exhausted. Criteria are only
+     * checked for the controls visited before the walk stops.
+     * @param count number of controls to find
+     */
+    void refresh(int count) {
+        found.clear();
+        boolean complete = false;
+        startWalk();
+        try {
+            if (isConcurrent()) {
+                List<CONTROL> all = walkConcurrently();
+                found.addAll(all.size() > count ? all.subList(0, count) : all);
+                complete = true;
+                return;
             }
-            List childen = getChildren(subparent);
-            if (childen != null) {
-                for (Object child : childen) {
-                    add(child);
+            Iterator<CONTROL> it = iterator();
+            while (found.size() < count) {
+                if (!it.hasNext()) {
+                    complete = true;
+                    break;
                 }
+                found.add(it.next());
             }
+        } finally {
+            endWalk(complete);
+        }
+    }
+
+    /**
+     * Called before the hierarchy is walked through. Notifies the criteria
+     * if they are a {@code WalkAwareCriteria}; overriding methods are to
+     * call this one.
+     */
+    void startWalk() {
+        if (criteria instanceof WalkAwareCriteria) {
+            ((WalkAwareCriteria) criteria).startWalk();
+        }
+    }
+
+    /**
+     * Called after the hierarchy is walked through. Notifies the criteria
+     * if they are a {@code WalkAwareCriteria}; overriding methods are to
+     * call this one.
+     * @param complete true if the whole hierarchy has been visited
+     */
+    void endWalk(boolean complete) {
+        if (criteria instanceof WalkAwareCriteria) {
+            ((WalkAwareCriteria) criteria).endWalk();
+        }
+    }
+
+    /**
+     * Whether the hierarchy and the criteria could be accessed from several
+     * threads at once.
+     * @return true if the hierarchy is walked in parallel
+     * @see ConcurrentControlHierarchy
+     */
+    boolean isConcurrent() {
+        return false;
+    }
+
+    /**
+     * Walks through the whole hierarchy in parallel.
+     * @return all the controls fitting the criteria in the hierarchy order
+     */
+    List<CONTROL> walkConcurrently() {
+        List<?> children = getChildren(null);
+        if (children == null) {
+            return new ArrayList<CONTROL>();
         }
+        return ForkJoinPool.commonPool().invoke(new WalkTask(children.toArray()));
+    }
+
+    /**
+     * Iterates through the controls fitting the criteria in the hierarchy
+     * order. Children of a control are only requested when the iteration
+     * proceeds past the control.
+     * @return iterator over the found controls
+     */
+    Iterator<CONTROL> iterator() {
+        return new HierarchyIterator();
     }
 
     protected boolean check(CONTROL control) {
@@ -248,9 +324,9 @@ public abstract class AbstractLookup<CONTROL> extends AbstractParent<CONTROL> im
      * If null passed - first level children are expected.
      * @return todo document
      */
-    abstract List getChildren(Object subParent);
+    abstract List<?> getChildren(Object subParent);
 
-    private String buildClassChain(Class cls) {
+    private String buildClassChain(Class<?> cls) {
         StringBuilder sb = new StringBuilder(cls.getName());
         if (getType().isInterface()) {
             sb.append(" implements ").append(getType().getName());
@@ -320,6 +396,100 @@ public abstract class AbstractLookup<CONTROL> extends AbstractParent<CONTROL> im
     }
      */
 
+    private class WalkTask extends RecursiveTask<List<CONTROL>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] nodes;
+        private final int from;
+        private final int to;
+
+        WalkTask(Object[] nodes) {
+            this(nodes, 0, nodes.length);
+        }
+
+        private WalkTask(Object[] nodes, int from, int to) {
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<CONTROL> compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                WalkTask tail = new WalkTask(nodes, middle, to);
+                tail.fork();
+                List<CONTROL> res = new WalkTask(nodes, from, middle).compute();
+                res.addAll(tail.join());
+                return res;
+            }
+            ArrayList<CONTROL> res = new ArrayList<CONTROL>();
+            Object node = (to > from) ? nodes[from] : null;
+            if (node != null) {
+                if (clss.isInstance(node) && check(clss.cast(node))) {
+                    res.add(clss.cast(node));
+                }
+                List<?> children = getChildren(node);
+                if (children != null && !children.isEmpty()) {
+                    res.addAll(new WalkTask(children.toArray()).compute());
+                }
+            }
+            return res;
+        }
+    }
+
+    private class HierarchyIterator implements Iterator<CONTROL> {
+
+        private final ArrayDeque<Iterator<?>> stack = new ArrayDeque<Iterator<?>>();
+        private Object expand = null;
+        private CONTROL next = null;
+
+        HierarchyIterator() {
+            push(getChildren(null));
+        }
+
+        private void push(List<?> children) {
+            if (children != null && !children.isEmpty()) {
+                stack.push(children.iterator());
+            }
+        }
+
+        public boolean hasNext() {
+            while (next == null) {
+                if (expand != null) {
+                    push(getChildren(expand));
+                    expand = null;
+                }
+                if (stack.isEmpty()) {
+                    break;
+                }
+                Iterator<?> top = stack.peek();
+                if (!top.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                Object candidate = top.next();
+                if (candidate != null) {
+                    if (clss.isInstance(candidate) && check(clss.cast(candidate))) {
+                        next = clss.cast(candidate);
+                    }
+                    expand = candidate;
+                }
+            }
+            return next != null;
+        }
+
+        public CONTROL next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            CONTROL res = next;
+            next = null;
+            return res;
+        }
+    }
+
     static class ClassLookupImpl<T, ST extends T> extends AbstractLookup<ST> {
 
         AbstractLookup<T> parent;
@@ -337,20 +507,67 @@ public abstract class AbstractLookup<CONTROL> extends AbstractParent<CONTROL> im
         }
 
         @Override
-        public List getChildren(Object subParent) {
+        public List<?> getChildren(Object subParent) {
             return getFound();
         }
 
         @Override
-        protected void refresh() {
-            parent.refresh();
-            for (T next : parent.found) {
-                if (cls.isInstance(next) && check(cls.cast(next))) {
-                    super.found.add(cls.cast(next));
-                }
+        void startWalk() {
+            // the parent criteria are checked during this walk, too
+            parent.startWalk();
+            super.startWalk();
+        }
+
+        @Override
+        void endWalk(boolean complete) {
+            try {
+                super.endWalk(complete);
+            } finally {
+                parent.endWalk(complete);
             }
         }
 
+        @Override
+        boolean isConcurrent() {
+            return parent.isConcurrent();
+        }
+
+        @Override
+        List<ST> walkConcurrently() {
+            return parent.walkConcurrently().parallelStream()
+                    .filter(c -> cls.isInstance(c) && check(cls.cast(c)))
+                    .map(c -> cls.cast(c))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        Iterator<ST> iterator() {
+            final Iterator<T> all = parent.iterator();
+            return new Iterator<ST>() {
+
+                private ST next = null;
+
+                public boolean hasNext() {
+                    while (next == null && all.hasNext()) {
+                        T candidate = all.next();
+                        if (cls.isInstance(candidate) && check(cls.cast(candidate))) {
+                            next = cls.cast(candidate);
+                        }
+                    }
+                    return next != null;
+                }
+
+                public ST next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    ST res = next;
+                    next = null;
+                    return res;
+                }
+            };
+        }
+
         @Override
         protected void dump(PrintStream out, Lookup<? extends ST> lookup) {
             parent.dump(out, lookup);
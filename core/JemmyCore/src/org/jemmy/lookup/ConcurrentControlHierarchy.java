@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.jemmy.lookup;
+
+/**
+ * Marks a hierarchy which could be accessed from any thread, such as
+ * a hierarchy built on a snapshot of the UI or a remote one. Lookups walk
+ * such a hierarchy in parallel, splitting sibling subtrees across the common
+ * {@code ForkJoinPool}. The found controls are still reported in the hierarchy
+ * order.
+ * <p>
+ * Lookup criteria are also checked concurrently for such a hierarchy and
+ * therefore have to be thread safe.
+ *
+ * @see HierarchyLookup
+ */
+public interface ConcurrentControlHierarchy extends ControlHierarchy {
+}
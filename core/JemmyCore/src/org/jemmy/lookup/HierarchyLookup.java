@@ -25,17 +25,33 @@
 package org.jemmy.lookup;
 
 import java.io.PrintStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.jemmy.control.Wrap;
 import org.jemmy.control.Wrapper;
 import org.jemmy.env.Environment;
 
 /**
+ * Looks for controls in a {@code ControlHierarchy}. If the hierarchy is an
+ * {@code IncrementalControlHierarchy}, a snapshot of child lists is kept
+ * between the lookup passes so that only the lists which have changed are
+ * re-read from the hierarchy. Criteria are still checked for every control
+ * on every pass, as control state could change without the hierarchy change.
+ * A {@code ConcurrentControlHierarchy} is walked in parallel.
+ * @see IncrementalControlHierarchy
+ * @see ConcurrentControlHierarchy
  * @author shura
  */
 public class HierarchyLookup<CONTROL> extends AbstractLookup<CONTROL> {
 
     ControlHierarchy hierarchy;
+    private boolean incremental = true;
+    private IdentityHashMap<Object, Snapshot> snapshot = new IdentityHashMap<Object, Snapshot>();
+    private IdentityHashMap<Object, Snapshot> nextSnapshot = new IdentityHashMap<Object, Snapshot>();
+    private final Object snapshotLock = new Object();
 
     public HierarchyLookup(Environment env, ControlHierarchy hierarchy, Wrapper wrapper, Class<CONTROL> controlClass, LookupCriteria<CONTROL> criteria) {
         super(env, controlClass, criteria, wrapper);
@@ -46,8 +62,111 @@ public class HierarchyLookup<CONTROL> extends AbstractLookup<CONTROL> {
         this(env, hierarchy, Wrap.getWrapper(), controlClass, criteria);
     }
 
+    /**
+     * Whether the child lists are reused between lookup passes.
+     * @return true if the hierarchy is an {@code IncrementalControlHierarchy}
+     * and the incremental mode has not been switched off.
+     * @see #setIncremental(boolean)
+     */
+    public boolean isIncremental() {
+        return incremental && hierarchy instanceof IncrementalControlHierarchy;
+    }
+
+    /**
+     * Switches the incremental mode on or off. With the mode off every lookup
+     * pass walks through the whole hierarchy.
+     * @param incremental true to reuse unchanged child lists between passes
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+        if (!incremental) {
+            snapshot.clear();
+        }
+    }
+
+    @Override
+    boolean isConcurrent() {
+        return hierarchy instanceof ConcurrentControlHierarchy;
+    }
+
+    @Override
+    void startWalk() {
+        super.startWalk();
+        nextSnapshot.clear();
+    }
+
+    @Override
+    void endWalk(boolean complete) {
+        if (complete) {
+            IdentityHashMap<Object, Snapshot> last = snapshot;
+            snapshot = nextSnapshot;
+            nextSnapshot = last;
+        } else {
+            // the walk stopped early, keep what was not visited
+            // except for the controls removed from the visited parents
+            for (Map.Entry<Object, Snapshot> e : nextSnapshot.entrySet()) {
+                Snapshot last = snapshot.get(e.getKey());
+                if (last != null && last != e.getValue()) {
+                    forgetRemoved(last.children, e.getValue().children);
+                }
+            }
+            snapshot.putAll(nextSnapshot);
+        }
+        nextSnapshot.clear();
+        super.endWalk(complete);
+    }
+
+    private void forgetRemoved(List<?> last, List<?> current) {
+        if (last == null) {
+            return;
+        }
+        Set<Object> kept = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        if (current != null) {
+            kept.addAll(current);
+        }
+        for (Object child : last) {
+            if (!kept.contains(child)) {
+                forget(child);
+            }
+        }
+    }
+
+    private void forget(Object control) {
+        Snapshot last = snapshot.remove(control);
+        if (last != null && last.children != null) {
+            for (Object child : last.children) {
+                forget(child);
+            }
+        }
+    }
+
+    boolean isInSnapshot(Object subParent) {
+        synchronized (snapshotLock) {
+            return snapshot.containsKey(subParent);
+        }
+    }
+
     @Override
-    List getChildren(Object subParent) {
+    List<?> getChildren(Object subParent) {
+        if (!isIncremental()) {
+            return readChildren(subParent);
+        }
+        long revision = ((IncrementalControlHierarchy) hierarchy).getRevision(subParent);
+        Snapshot last;
+        synchronized (snapshotLock) {
+            last = snapshot.get(subParent);
+        }
+        if (last == null || revision == IncrementalControlHierarchy.UNKNOWN_REVISION
+                || last.revision != revision) {
+            last = new Snapshot(revision, readChildren(subParent));
+        }
+        synchronized (snapshotLock) {
+            nextSnapshot.put(subParent, last);
+        }
+        return last.children;
+    }
+
+    private List<?> readChildren(Object subParent) {
         if(subParent != null) {
             return hierarchy.getChildren(subParent);
         } else {
@@ -72,4 +191,15 @@ public class HierarchyLookup<CONTROL> extends AbstractLookup<CONTROL> {
         }
         return res;
     }
+
+    private static class Snapshot {
+
+        final long revision;
+        final List<?> children;
+
+        Snapshot(long revision, List<?> children) {
+            this.revision = revision;
+            this.children = children;
+        }
+    }
 }
@@ -28,24 +28,47 @@ import org.jemmy.Rectangle;
 import org.jemmy.control.Wrap;
 import org.jemmy.control.Wrapper;
 import org.jemmy.image.Image;
+import org.jemmy.image.ScreenCapturer;
 
 /**
+ * Looks for controls which look like an image. In the capture sharing mode
+ * the screen is captured once per lookup walk, if the capturer is a
+ * {@code ScreenCapturer}, and images of the controls are cut out of the
+ * capture.
  *
  * @author shura
  */
-public class ImageLookup<T> implements LookupCriteria<T> {
+public class ImageLookup<T> implements WalkAwareCriteria<T> {
     private Wrapper wrapper;
     private Image image;
     private Class<T> type;
     private Rectangle subArea;
+    private final boolean shareCapture;
     private Image lastDiff = null;
     private Image lastImage = null;
+    private boolean walking = false;
+    private Image capture = null;
+    private Rectangle captureArea = null;
 
-    public ImageLookup(Wrapper wrapper, Class<T> type, Image image, Rectangle subArea) {
+    /**
+     * @param wrapper the wrapper to wrap the controls with
+     * @param type the controls type
+     * @param image the image the controls should look like
+     * @param subArea part of a control to compare with the image, the whole
+     * control if null
+     * @param shareCapture whether to capture the screen once per walk
+     * @see ScreenCapturer
+     */
+    public ImageLookup(Wrapper wrapper, Class<T> type, Image image, Rectangle subArea, boolean shareCapture) {
         this.wrapper = wrapper;
         this.type = type;
         this.image = image;
         this.subArea = subArea;
+        this.shareCapture = shareCapture;
+    }
+
+    public ImageLookup(Wrapper wrapper, Class<T> type, Image image, Rectangle subArea) {
+        this(wrapper, type, image, subArea, false);
     }
 
     public ImageLookup(Wrapper wrapper, Class<T> type, Image image) {
@@ -54,7 +77,10 @@ public class ImageLookup<T> implements LookupCriteria<T> {
 
     public boolean check(T control) {
         Wrap<?> wrap = wrapper.wrap(type, control);
-        if(subArea == null) {
+        Image shot = getSharedImage(wrap);
+        if (shot != null) {
+            lastImage = shot;
+        } else if(subArea == null) {
             lastImage = wrap.getScreenImage();
         } else {
             lastImage = wrap.getScreenImage(subArea);
@@ -62,6 +88,60 @@ public class ImageLookup<T> implements LookupCriteria<T> {
         return (lastDiff = image.compareTo(lastImage)) == null;
     }
 
+    /**
+     * Cuts the control image out of the capture taken for this walk.
+     * @return the image or null if it could not be obtained that way
+     */
+    private Image getSharedImage(Wrap<?> wrap) {
+        if (!shareCapture || !(wrap.getEnvironment().getImageCapturer() instanceof ScreenCapturer)) {
+            return null;
+        }
+        ScreenCapturer capturer = (ScreenCapturer) wrap.getEnvironment().getImageCapturer();
+        Rectangle bounds = wrap.getScreenBounds();
+        Rectangle area = (subArea == null)
+                ? new Rectangle(bounds.x, bounds.y, bounds.width, bounds.height)
+                : new Rectangle(bounds.x + subArea.x, bounds.y + subArea.y, subArea.width, subArea.height);
+        Image shared;
+        Rectangle sharedArea;
+        synchronized (this) {
+            if (!walking) {
+                return null;
+            }
+            if (capture == null) {
+                captureArea = capturer.getScreenBounds();
+                capture = capturer.capture(captureArea);
+            }
+            shared = capture;
+            sharedArea = captureArea;
+        }
+        if (area.isEmpty() || !sharedArea.contains(area)) {
+            return null;
+        }
+        area.translate(-sharedArea.x, -sharedArea.y);
+        return capturer.crop(shared, area);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void startWalk() {
+        walking = true;
+        capture = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void endWalk() {
+        walking = false;
+        capture = null;
+        captureArea = null;
+    }
+
+    public boolean isShareCapture() {
+        return shareCapture;
+    }
+
     public Image getLastDiff() {
         return lastDiff;
     }
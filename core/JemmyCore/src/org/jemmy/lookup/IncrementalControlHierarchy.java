@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.jemmy.lookup;
+
+/**
+ * A hierarchy which is able to tell whether children of a control have changed
+ * since they were last obtained. {@code HierarchyLookup} uses this to keep
+ * a snapshot of the hierarchy between lookup passes and to only re-read child
+ * lists which have changed.
+ *
+ * @see HierarchyLookup
+ */
+public interface IncrementalControlHierarchy extends ControlHierarchy {
+
+    /**
+     * Returned by {@linkplain #getRevision(java.lang.Object) getRevision()}
+     * when changes are not tracked for a control.
+     */
+    public static final long UNKNOWN_REVISION = -1;
+
+    /**
+     * Returns a stamp of the child list of a control. The stamp must change
+     * every time the list returned by <code>getChildren(subParent)</code> (or
+     * <code>getControls()</code> for null) changes.
+     * @param subParent - one of the elements in the hierarchy. If null passed -
+     * the stamp of the first level children is expected.
+     * @return the stamp or {@linkplain #UNKNOWN_REVISION} in which case the
+     * children are re-read.
+     */
+    public long getRevision(Object subParent);
+}
@@ -49,7 +49,7 @@ public class PlainLookup<CONTROL> extends AbstractLookup<CONTROL> {
     }
 
     @Override
-    List getChildren(Object subParent) {
+    List<?> getChildren(Object subParent) {
         if (subParent != null) {
             return null;
         } else {
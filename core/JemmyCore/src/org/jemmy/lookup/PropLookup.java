@@ -48,7 +48,8 @@ public class PropLookup<CONTROL> implements LookupCriteria<CONTROL> {
     }
 
     public boolean check(CONTROL control) {
-        return wrapper.wrap(Object.class, control).getProperty(propName).equals(value);
+        Object prop = wrapper.wrap(Object.class, control).getProperty(propName);
+        return (prop != null) ? prop.equals(value) : value == null;
     }
 
 }
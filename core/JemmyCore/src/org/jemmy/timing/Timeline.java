@@ -24,9 +24,8 @@
  */
 package org.jemmy.timing;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.TreeMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
 import org.jemmy.JemmyException;
 import org.jemmy.action.Action;
 import org.jemmy.action.GetAction;
@@ -40,11 +39,11 @@ import org.jemmy.env.Environment;
  */
 public class Timeline<T> {
 
-    private LinkedList<TimedAction> list = new LinkedList<TimedAction>();
+    private PriorityQueue<TimedAction> list = new PriorityQueue<TimedAction>();
     private Environment env;
     private T control;
     private long startTime = 0;
-    private long tic = 10;
+    private long scheduled = 0;
 
     public Timeline(long startTime, Environment env, T control) {
         this.startTime = startTime;
@@ -66,17 +65,7 @@ public class Timeline<T> {
 
     public synchronized final Timeline<T> schedule(long when, TimedCriteria<T> frame) {
         if (when >= 0) {
-            if (list.size() > 0) {
-                for (int i = 0; i < list.size(); i++) {
-                    if (list.get(i).when >= when) {
-                        list.add(i, new TimedAction(frame, when));
-                        return this;
-                    }
-                }
-                list.add(new TimedAction(frame, when));
-            } else {
-                list.add(new TimedAction(frame, when));
-            }
+            list.add(new TimedAction(frame, when, scheduled++));
         }
         return this;
     }
@@ -90,30 +79,39 @@ public class Timeline<T> {
     }
 
     synchronized TimedAction next(long until) {
-        if (list.get(0).when <= until) {
+        if (list.peek().when <= until) {
             return remove();
         }
         return null;
     }
 
     synchronized TimedAction remove() {
-        return list.removeFirst();
+        return list.poll();
+    }
+
+    private synchronized long nextTime() {
+        return list.peek().when;
+    }
+
+    private static void sleepUntil(long deadline) {
+        long left;
+        while ((left = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(left);
+            } catch (InterruptedException ex) {
+                throw new JemmyException("Sleep interrupted.", ex);
+            }
+        }
     }
 
     public void start() {
         if (startTime > 0) {
-            long before = System.currentTimeMillis();
-            while (System.currentTimeMillis() < startTime + before) {
-                try {
-                    Thread.sleep(tic);
-                } catch (InterruptedException ex) {
-                    throw new JemmyException("Sleep interrupted.", ex);
-                }
-            }
+            sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(startTime));
         }
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         while (hasMore()) {
-            long now = System.currentTimeMillis() - start;
+            sleepUntil(start + TimeUnit.MILLISECONDS.toNanos(nextTime()));
+            long now = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
             TimedAction next = next(now);
             if (next != null) {
                 env.getExecutor().execute(env,
@@ -122,31 +120,36 @@ public class Timeline<T> {
                     throw new JemmyException("Check failed on " + now + ":", next.criteria);
                 }
             }
-            try {
-                Thread.sleep(tic);
-            } catch (InterruptedException ex) {
-                throw new JemmyException("Sleep interrupted.", ex);
-            }
         }
     }
 
-    public boolean hasMore() {
+    public synchronized boolean hasMore() {
         return list.size() > 0;
     }
 
-    private class TimedAction extends GetAction<Boolean> {
+    private class TimedAction extends GetAction<Boolean> implements Comparable<TimedAction> {
 
         long when;
+        long order;
         TimedCriteria<T> criteria;
 
-        public TimedAction(TimedCriteria<T> criteria, long when) {
+        public TimedAction(TimedCriteria<T> criteria, long when, long order) {
             this.criteria = criteria;
             this.when = when;
+            this.order = order;
         }
 
         @Override
         public void run(Object... parameters) {
             setResult(criteria.check(control, (Long) parameters[0]));
         }
+
+        public int compareTo(TimedAction o) {
+            if (when != o.when) {
+                return (when < o.when) ? -1 : 1;
+            }
+            //actions scheduled later for the same time go first
+            return (order > o.order) ? -1 : (order < o.order) ? 1 : 0;
+        }
     }
 }
@@ -25,44 +25,89 @@
 
 package org.jemmy.timing;
 
+import java.util.concurrent.TimeUnit;
 import org.jemmy.JemmyException;
 import org.jemmy.TimeoutExpiredException;
 import org.jemmy.env.Timeout;
 
 /**
+ * Waits for a state by calling {@code State.reached()} repeatedly. A
+ * {@code NotifyingState} is checked again as soon as it signals, other states
+ * are polled. Polling interval starts at the minimal delta and doubles with
+ * every attempt up to the delta. Waiters obtained through
+ * {@code Environment.getWaiter(...)} start at {@code MIN_DELTA}; waiters
+ * constructed without a minimal delta poll at a fixed interval.
+ *
+ * @see NotifyingState
  * @author shura
  */
 public class Waiter {
 
     public static final Timeout DEFAULT_DELTA = new Timeout("default.wait.delta", 100);
+    /**
+     * Interval the waiters obtained through {@code Environment.getWaiter(...)}
+     * start polling at, 1 millisecond unless set in the environment. Setting
+     * it to {@code DEFAULT_DELTA} turns the backoff off.
+     * @see org.jemmy.env.Environment#getWaiter(java.lang.String)
+     */
+    public static final Timeout MIN_DELTA = new Timeout("default.wait.min.delta", 1);
     private long waitTime;
     private long delta;
+    private long minDelta;
 
-    public Waiter(Timeout waitTime, Timeout delta) {
+    public Waiter(Timeout waitTime, Timeout delta, Timeout minDelta) {
         this.waitTime = waitTime.getValue();
         this.delta = delta.getValue();
+        this.minDelta = Math.max(1, Math.min(minDelta.getValue(), this.delta));
+    }
+
+    public Waiter(Timeout waitTime, Timeout delta) {
+        this(waitTime, delta, delta);
     }
 
     public Waiter(Timeout waitTime) {
-        this.waitTime = waitTime.getValue();
-        this.delta = DEFAULT_DELTA.getValue();
+        this(waitTime, DEFAULT_DELTA);
     }
 
     public <T> T waitState(State<T> state) {
-        long start = System.currentTimeMillis();
-        T res;
-        while( System.currentTimeMillis() < start + waitTime) {
-            res = state.reached();
-            if(res != null) {
-                return res;
+        return waitState(state, state);
+    }
+
+    private <T> T waitState(State<T> state, State<?> source) {
+        WakeUp wakeUp = null;
+        if (source instanceof NotifyingState) {
+            wakeUp = new WakeUp();
+            ((NotifyingState<?>) source).addWakeUp(wakeUp);
+        }
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTime);
+            long pause = TimeUnit.MILLISECONDS.toNanos(minDelta);
+            long maxPause = TimeUnit.MILLISECONDS.toNanos(delta);
+            long left;
+            T res;
+            while ((left = deadline - System.nanoTime()) > 0) {
+                long signals = (wakeUp != null) ? wakeUp.getSignals() : 0;
+                res = state.reached();
+                if(res != null) {
+                    return res;
+                }
+                try {
+                    if (wakeUp != null) {
+                        wakeUp.await(signals, Math.min(maxPause, left));
+                    } else {
+                        TimeUnit.NANOSECONDS.sleep(Math.min(pause, left));
+                        pause = Math.min(pause * 2, maxPause);
+                    }
+                } catch (InterruptedException ex) {
+                    throw new JemmyException("Wait interrupted for: ", state);
+                }
             }
-            try {
-                Thread.sleep(delta);
-            } catch (InterruptedException ex) {
-                throw new JemmyException("Wait interrupted for: ", state);
+            return null;
+        } finally {
+            if (wakeUp != null) {
+                ((NotifyingState<?>) source).removeWakeUp(wakeUp);
             }
         }
-        return null;
     }
 
     public <T> T waitValue(final T value, final State<T> state) {
@@ -76,7 +121,7 @@ public class Waiter {
                 }
             }
         };
-        return waitState(st);
+        return waitState(st, state);
     }
 
     public <T> T ensureState(State<T> state) {
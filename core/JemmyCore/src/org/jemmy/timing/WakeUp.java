@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.timing;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * A signal used by a {@code NotifyingState} to tell a {@code Waiter} that
+ * the state may have been reached and should be checked again. Any thread
+ * may call {@code signal()}, e.g. a toolkit event listener.
+ *
+ * @see NotifyingState
+ * @see Waiter#waitState(State)
+ */
+public class WakeUp {
+
+    private long signals = 0;
+
+    /**
+     * Creates a wake-up which has not been signalled yet.
+     */
+    public WakeUp() {
+    }
+
+    /**
+     * Wakes up the waiting thread.
+     */
+    public synchronized void signal() {
+        signals++;
+        notifyAll();
+    }
+
+    /**
+     * Signals when the stage is completed, normally or exceptionally.
+     * @param stage a completion stage, such as a {@code CompletableFuture}
+     */
+    public void signalOn(CompletionStage<?> stage) {
+        stage.whenComplete(new BiConsumer<Object, Throwable>() {
+            public void accept(Object t, Throwable u) {
+                signal();
+            }
+        });
+    }
+
+    synchronized long getSignals() {
+        return signals;
+    }
+
+    /**
+     * Blocks until a signal comes after the given one or until the time runs
+     * out.
+     * @param seen number of signals already seen
+     * @param timeout maximum time to wait in nanoseconds
+     * @return true if there has been a signal
+     */
+    synchronized boolean await(long seen, long timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout;
+        long left = timeout;
+        while (signals == seen && left > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, left);
+            left = deadline - System.nanoTime();
+        }
+        return signals != seen;
+    }
+}
@@ -28,8 +28,13 @@ import org.jemmy.JemmyException;
 import org.jemmy.env.Environment;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -131,4 +136,57 @@ public class ExecutorTest {
     public void executeExceptionQueueDetached() throws InterruptedException {
         waitException(executeExceptionDetached(true));
     }
+
+    @Test
+    public void submitAll() {
+        AtomicInteger count = new AtomicInteger(0);
+        List<Action> actions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            actions.add(Action.instantiate(() -> {
+                count.incrementAndGet();
+            }));
+        }
+        executor.submitAll(env, actions);
+        assertEquals(count.get(), 100);
+    }
+    @Test
+    public void submitAllException() {
+        AtomicInteger count = new AtomicInteger(0);
+        try {
+            executor.submitAll(env, Arrays.asList(
+                    Action.instantiate(() -> {
+                        throw new RuntimeException();
+                    }),
+                    Action.instantiate(() -> {
+                        count.incrementAndGet();
+                    })));
+            fail();
+        } catch (JemmyException e) {
+        }
+        assertEquals(count.get(), 0);
+    }
+
+    @Test
+    public void submitAllInAction() {
+        AtomicInteger count = new AtomicInteger(0);
+        AtomicBoolean thrown = new AtomicBoolean(false);
+        executor.execute(env, false, Action.instantiate(() -> {
+            try {
+                executor.submitAll(env, Arrays.asList(
+                        Action.instantiate(() -> {
+                            count.incrementAndGet();
+                        }),
+                        Action.instantiate(() -> {
+                            throw new RuntimeException();
+                        }),
+                        Action.instantiate(() -> {
+                            count.incrementAndGet();
+                        })));
+            } catch (JemmyException e) {
+                thrown.set(true);
+            }
+        }));
+        assertTrue(thrown.get());
+        assertEquals(count.get(), 1);
+    }
 }
@@ -24,6 +24,7 @@
  */
 package org.jemmy.control;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 import org.jemmy.Rectangle;
 import org.jemmy.action.GetAction;
@@ -35,6 +36,9 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 
@@ -89,6 +93,52 @@ public class PropertiesTest {
         }
     }
 
+    @Test
+    public void testAccessorCache() throws Exception {
+        assertSame(PropertyAccessors.get(TestWrap.class), PropertyAccessors.get(TestWrap.class));
+        PropertyAccessors.Accessor accessor = PropertyAccessors.getMethodAccessor(Failing.class, "getValue");
+        assertSame(PropertyAccessors.getMethodAccessor(Failing.class, "getValue"), accessor);
+        assertFalse(accessor.isReflective());
+    }
+
+    @Test
+    public void testReflectiveFallback() throws Exception {
+        PropertyAccessors.Accessor accessor = PropertyAccessors.getMethodAccessor(Hidden.class, "getValue");
+        assertTrue(accessor.isReflective());
+        assertEquals(PropertyAccessors.getMethodProperty(new Hidden(false), "getValue"), 1);
+        for (Object control : new Object[] {new Hidden(true), new Failing()}) {
+            try {
+                PropertyAccessors.getMethodProperty(control, "getValue");
+                fail("No exception thrown");
+            } catch (InvocationTargetException e) {
+                assertEquals(e.getCause().getClass(), IllegalStateException.class);
+            }
+        }
+    }
+
+    public static class Failing {
+
+        public int getValue() {
+            throw new IllegalStateException();
+        }
+    }
+
+    static class Hidden {
+
+        private final boolean fail;
+
+        Hidden(boolean fail) {
+            this.fail = fail;
+        }
+
+        public int getValue() {
+            if (fail) {
+                throw new IllegalStateException();
+            }
+            return 1;
+        }
+    }
+
     @MethodProperties("getX")
     @FieldProperties("x")
     class TestWrap extends Wrap<Rectangle> {
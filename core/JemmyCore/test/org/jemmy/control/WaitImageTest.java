@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jemmy.Dimension;
+import org.jemmy.Rectangle;
+import org.jemmy.TimeoutExpiredException;
+import org.jemmy.env.Environment;
+import org.jemmy.image.Image;
+import org.jemmy.image.ImageCapturer;
+import org.jemmy.image.pixel.PackedRaster;
+import org.jemmy.image.pixel.Raster.Component;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class WaitImageTest {
+
+    @Test
+    public void unchangedFrames() {
+        final List<String> calls = new ArrayList<String>();
+        final Image diff = new Image() {
+            public Image compareTo(Image img) {
+                throw new UnsupportedOperationException();
+            }
+
+            public void save(String ID) {
+                calls.add("save " + ID);
+            }
+        };
+        Environment env = new Environment();
+        env.setTimeout(Wrap.WAIT_STATE_TIMEOUT, 200);
+        env.setImageCapturer(new ImageCapturer() {
+            public Image capture(Wrap<?> control, Rectangle rect) {
+                calls.add("capture");
+                return new FrameImage(calls, diff);
+            }
+        });
+        Wrap<Object> wrap = new WrapperTest.ObjectWrap(env, new Object());
+        try {
+            wrap.waitImage(diff, new Rectangle(0, 0, 10, 10), "result", "diff");
+            fail();
+        } catch (TimeoutExpiredException e) {
+            //expected
+        }
+        assertEquals(calls.get(0), "capture");
+        assertEquals(calls.get(1), "compare");
+        assertTrue(calls.size() > 4);
+        for (String call : calls.subList(2, calls.size() - 2)) {
+            assertEquals(call, "capture");
+        }
+        assertEquals(calls.get(calls.size() - 2), "save diff");
+        assertEquals(calls.get(calls.size() - 1), "save result");
+    }
+
+    private static class FrameImage implements Image, PackedRaster {
+
+        private final List<String> calls;
+        private final Image diff;
+
+        FrameImage(List<String> calls, Image diff) {
+            this.calls = calls;
+            this.diff = diff;
+        }
+
+        public Image compareTo(Image img) {
+            calls.add("compare");
+            return diff;
+        }
+
+        public void save(String ID) {
+            calls.add("save " + ID);
+        }
+
+        public Dimension getSize() {
+            return new Dimension(10, 10);
+        }
+
+        public void getColors(int x, int y, double[] colors) {
+            colors[0] = colors[1] = colors[2] = (double) (x + y) / 20;
+        }
+
+        public Component[] getSupported() {
+            return new Component[] {Component.RED, Component.GREEN, Component.BLUE};
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.control;
+
+import org.jemmy.Rectangle;
+import org.jemmy.env.Environment;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class WrapperTest {
+
+    @Test
+    public void remap() {
+        WrapperImpl wrapper = new WrapperImpl(new Environment());
+        wrapper.add(Object.class, (Class) ObjectWrap.class);
+        assertTrue(wrapper.wrap(Object.class, "string") instanceof ObjectWrap);
+        wrapper.add(String.class, (Class) StringWrap.class);
+        assertTrue(wrapper.wrap(Object.class, "string") instanceof StringWrap);
+        assertTrue(wrapper.wrap(Object.class, 1) instanceof ObjectWrap);
+    }
+
+    @Test
+    public void sharedEnvironment() {
+        WrapperImpl wrapper = new WrapperImpl(new Environment());
+        wrapper.add(Object.class, (Class) ObjectWrap.class);
+        assertNotSame(wrapper.wrap(Object.class, 1).getEnvironment(),
+                wrapper.wrap(Object.class, 2).getEnvironment());
+        wrapper.setSharedEnvironment(true);
+        Environment env = wrapper.wrap(Object.class, 1).getEnvironment();
+        assertSame(wrapper.wrap(Object.class, 2).getEnvironment(), env);
+        assertSame(env.getParentEnvironment(), wrapper.getEnvironment());
+    }
+
+    public static class ObjectWrap extends Wrap<Object> {
+
+        public ObjectWrap(Environment env, Object control) {
+            super(env, control);
+        }
+
+        @Override
+        public Rectangle getScreenBounds() {
+            return new Rectangle();
+        }
+    }
+
+    public static class StringWrap extends Wrap<String> {
+
+        public StringWrap(Environment env, String control) {
+            super(env, control);
+        }
+
+        @Override
+        public Rectangle getScreenBounds() {
+            return new Rectangle();
+        }
+    }
+}
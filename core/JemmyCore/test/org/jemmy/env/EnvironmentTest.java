@@ -33,6 +33,7 @@ import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 
 /**
  *
@@ -147,6 +148,32 @@ public class EnvironmentTest {
         assertEquals(Environment.getEnvironment().getTimeout(timeout).getValue(), 300l);
     }
 
+    /**
+     * Tests that values inherited from a parent are re-read once the parent
+     * or the parent chain changes.
+     */
+    @Test
+    public void testInheritedChange() {
+        Environment parent = new Environment();
+        Environment child = new Environment(new Environment(parent));
+        parent.setProperty("testInheritedChange", "one");
+        assertEquals(child.getProperty("testInheritedChange"), "one");
+        parent.setProperty("testInheritedChange", "two");
+        assertEquals(child.getProperty("testInheritedChange"), "two");
+        parent.setProperty("testInheritedChange", null);
+        assertNull(child.getProperty("testInheritedChange"));
+        Environment other = new Environment();
+        other.setProperty("testInheritedChange", "three");
+        child.setParentEnvironment(other);
+        assertEquals(child.getProperty("testInheritedChange"), "three");
+        Environment middle = new Environment(parent);
+        Environment grandChild = new Environment(middle);
+        parent.setProperty("testInheritedChange", "four");
+        assertEquals(grandChild.getProperty("testInheritedChange"), "four");
+        middle.setParentEnvironment(other);
+        assertEquals(grandChild.getProperty("testInheritedChange"), "three");
+    }
+
     // TODO: More tests on Environment
 
 /*
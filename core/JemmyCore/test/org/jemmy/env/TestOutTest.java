@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.env;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.function.Supplier;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+public class TestOutTest {
+
+    @Test
+    public void disabled() {
+        TestOut out = TestOut.getNullOutput();
+        assertFalse(out.isEnabled());
+        out.printlnLazy(new Supplier<String>() {
+            public String get() {
+                fail("Message built for a null output");
+                return null;
+            }
+        });
+        out.println(null);
+    }
+
+    @Test
+    public void async() {
+        StringWriter text = new StringWriter();
+        TestOut out = new TestOut(null, new PrintWriter(text), null);
+        out.setAsyncMode(true);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            out.println(Integer.toString(i));
+            expected.append(i).append(System.lineSeparator());
+        }
+        out.flush();
+        assertEquals(text.toString(), expected.toString());
+        out.setAsyncMode(false);
+        out.println("sync");
+        assertEquals(text.toString(), expected + "sync" + System.lineSeparator());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.jemmy.JemmyException;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class AsyncImageStoreTest {
+
+    @Test
+    public void backPressure() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> saved = new CopyOnWriteArrayList<String>();
+        final AsyncImageStore store = new AsyncImageStore(new ImageStore() {
+            public void save(Image image, String id) throws Exception {
+                release.await();
+                saved.add(id);
+            }
+        }, 1, 2);
+        store.save(null, "one");
+        store.save(null, "two");
+        final CountDownLatch third = new CountDownLatch(1);
+        new Thread() {
+            @Override
+            public void run() {
+                try {
+                    store.save(null, "three");
+                    third.countDown();
+                } catch (InterruptedException e) {
+                }
+            }
+        }.start();
+        assertTrue(!third.await(200, TimeUnit.MILLISECONDS));
+        assertTrue(saved.isEmpty());
+        release.countDown();
+        assertTrue(third.await(10, TimeUnit.SECONDS));
+        store.flush();
+        assertEquals(store.getPending(), 0);
+        assertEquals(saved.size(), 3);
+    }
+
+    @Test
+    public void failure() throws Exception {
+        AsyncImageStore store = new AsyncImageStore(new ImageStore() {
+            public void save(Image image, String id) throws Exception {
+                if (id.equals("bad")) {
+                    throw new IllegalStateException(id);
+                }
+            }
+        });
+        store.save(null, "good");
+        store.save(null, "bad");
+        try {
+            store.flush();
+            fail();
+        } catch (JemmyException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        store.flush();
+    }
+}
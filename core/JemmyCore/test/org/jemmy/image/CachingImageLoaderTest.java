@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.jemmy.Dimension;
+import org.jemmy.image.pixel.Raster;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class CachingImageLoaderTest {
+
+    @Test
+    public void reuse() {
+        TestLoader loader = new TestLoader();
+        CachingImageLoader cache = new CachingImageLoader(loader);
+        Image one = cache.load("one");
+        assertSame(cache.load("./one"), one);
+        assertEquals(loader.loads, 1);
+        loader.modified.put("one", 1L);
+        assertNotSame(cache.load("one"), one);
+        assertEquals(loader.loads, 2);
+        assertEquals(cache.getSize(), 4 * 10 * 10);
+    }
+
+    @Test
+    public void eviction() {
+        TestLoader loader = new TestLoader();
+        CachingImageLoader cache = new CachingImageLoader(loader, 4 * 10 * 10 * 2);
+        Image one = cache.load("one");
+        cache.load("two");
+        assertSame(cache.load("one"), one);
+        cache.load("three");
+        assertEquals(loader.loads, 3);
+        assertSame(cache.load("one"), one);
+        cache.load("two");
+        assertEquals(loader.loads, 4);
+        assertEquals(cache.getSize(), 4 * 10 * 10 * 2);
+        cache.setBudget(10);
+        assertEquals(cache.getSize(), 0);
+        cache.load("one");
+        assertEquals(loader.loads, 5);
+    }
+
+    private static class TestLoader implements ResolvingImageLoader {
+
+        private int loads = 0;
+        private final Map<String, Long> modified = new HashMap<String, Long>();
+
+        public Image load(String ID) {
+            loads++;
+            return new TestImage();
+        }
+
+        public String resolve(String ID) {
+            return ID.startsWith("./") ? ID.substring(2) : ID;
+        }
+
+        public long lastModified(String ID) {
+            Long res = modified.get(resolve(ID));
+            return (res != null) ? res : 0;
+        }
+    }
+
+    private static class TestImage implements Image, Raster {
+
+        public Image compareTo(Image img) {
+            return null;
+        }
+
+        public void save(String ID) {
+        }
+
+        public Dimension getSize() {
+            return new Dimension(10, 10);
+        }
+
+        public void getColors(int x, int y, double[] colors) {
+        }
+
+        public Component[] getSupported() {
+            return new Component[] {Component.RED, Component.GREEN, Component.BLUE};
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.Deflater;
+import org.jemmy.Dimension;
+import org.jemmy.JemmyException;
+import org.jemmy.image.pixel.PNGLoader;
+import org.jemmy.image.pixel.Raster;
+import org.jemmy.image.pixel.WriteableRaster;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Decodes images encoded with every filter type and split into many IDAT
+ * chunks.
+ */
+public class PNGLoaderTest {
+
+    private static final int WIDTH = 37;
+    private static final int HEIGHT = 23;
+
+    @Test
+    public void truecolorAlpha() throws IOException {
+        Random random = new Random(0);
+        int[] argb = new int[WIDTH * HEIGHT];
+        byte[][] rows = new byte[HEIGHT][WIDTH * 4];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int value = (x * 7 + y * 3) % 0x100;
+                int alpha = random.nextInt(0x100);
+                argb[y * WIDTH + x] = (alpha << 24) | (value << 16) | ((0xFF - value) << 8) | (x * y % 0x100);
+                for (int c = 0; c < 4; c++) {
+                    rows[y][x * 4 + c] = (byte) (argb[y * WIDTH + x] >>> (c == 3 ? 24 : 16 - c * 8));
+                }
+            }
+        }
+        check(encode(6, 8, 4, rows), argb);
+    }
+
+    @Test
+    public void greyscale() throws IOException {
+        int[] argb = new int[WIDTH * HEIGHT];
+        byte[][] rows = new byte[HEIGHT][(WIDTH * 4 + 7) / 8];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int value = (x + y) % 0x10;
+                int grey = value * 0x11;
+                argb[y * WIDTH + x] = 0xFF000000 | (grey << 16) | (grey << 8) | grey;
+                rows[y][x / 2] |= (byte) (value << ((x % 2 == 0) ? 4 : 0));
+            }
+        }
+        check(encode(0, 4, 1, rows), argb);
+    }
+
+    @Test(expectedExceptions = JemmyException.class)
+    public void negativeLength() throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(png);
+        out.write(new byte[] {-119, 80, 78, 71, 13, 10, 26, 10});
+        out.writeInt(0x80000000);
+        out.writeBytes("IHDR");
+        decodeInvalid(png.toByteArray(), new boolean[1]);
+    }
+
+    @Test
+    public void invalidHeader() throws IOException {
+        for (int size : new int[] {0, 0x80000000}) {
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(png);
+            out.write(new byte[] {-119, 80, 78, 71, 13, 10, 26, 10});
+            ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(ihdr);
+            header.writeInt(size);
+            header.writeInt(1);
+            header.write(new byte[] {8, 6, 0, 0, 0});
+            chunk(out, "IHDR", ihdr.toByteArray(), 0, ihdr.size());
+            boolean[] closed = new boolean[1];
+            try {
+                decodeInvalid(png.toByteArray(), closed);
+                fail("Width " + size + " accepted");
+            } catch (JemmyException e) {
+                assertTrue(closed[0], "stream closed");
+            }
+        }
+    }
+
+    /**
+     * A truncated chunk claiming to be 2^31-1 bytes long is read by slices
+     * and fails with EOF rather than with a 2GB allocation.
+     */
+    @Test(expectedExceptions = EOFException.class)
+    public void truncatedChunk() throws IOException {
+        byte[] png = encode(6, 8, 4, new byte[HEIGHT][WIDTH * 4]);
+        //the tEXt chunk follows the 8 byte signature and the 25 byte IHDR chunk
+        ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+        truncated.write(png, 0, 33);
+        new DataOutputStream(truncated).writeInt(Integer.MAX_VALUE);
+        truncated.write(png, 37, 100);
+        decodeInvalid(truncated.toByteArray(), new boolean[1]);
+    }
+
+    private static void decodeInvalid(byte[] png, final boolean[] closed) throws IOException {
+        new PNGLoader(new ByteArrayInputStream(png) {
+            @Override
+            public void close() throws IOException {
+                closed[0] = true;
+                super.close();
+            }
+        }) {
+            @Override
+            protected WriteableRaster createRaster(final int width, final int height) {
+                return new WriteableRaster() {
+                    public void setColors(int x, int y, double[] values) {
+                    }
+
+                    public Dimension getSize() {
+                        return new Dimension(width, height);
+                    }
+
+                    public void getColors(int x, int y, double[] colors) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    public Component[] getSupported() {
+                        return new Component[] {Component.RED, Component.GREEN, Component.BLUE, Component.ALPHA};
+                    }
+                };
+            }
+        }.decode();
+    }
+
+    private void check(byte[] png, int[] expected) throws IOException {
+        final int[] decoded = new int[WIDTH * HEIGHT];
+        Raster res = new PNGLoader(new ByteArrayInputStream(png)) {
+            @Override
+            protected WriteableRaster createRaster(final int width, final int height) {
+                return new WriteableRaster() {
+                    public void setColors(int x, int y, double[] values) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public void setARGB(int x, int y, int w, int h, int[] argb, int offset, int scansize) {
+                        System.arraycopy(argb, offset, decoded, y * width + x, w);
+                    }
+
+                    public Dimension getSize() {
+                        return new Dimension(width, height);
+                    }
+
+                    public void getColors(int x, int y, double[] colors) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    public Component[] getSupported() {
+                        return new Component[] {Component.RED, Component.GREEN, Component.BLUE, Component.ALPHA};
+                    }
+                };
+            }
+        }.decode();
+        assertEquals(res.getSize(), new Dimension(WIDTH, HEIGHT));
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(Integer.toHexString(decoded[i]), Integer.toHexString(expected[i]), "pixel " + i);
+        }
+    }
+
+    /**
+     * Encodes the rows using filter types one after another and splits the
+     * compressed data into small chunks.
+     */
+    private static byte[] encode(int colorType, int depth, int bpp, byte[][] rows) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        byte[] prev = new byte[rows[0].length];
+        for (int y = 0; y < rows.length; y++) {
+            int filter = y % 5;
+            raw.write(filter);
+            byte[] row = rows[y];
+            for (int i = 0; i < row.length; i++) {
+                int left = (i >= bpp) ? row[i - bpp] & 0xFF : 0;
+                int up = prev[i] & 0xFF;
+                int upLeft = (i >= bpp) ? prev[i - bpp] & 0xFF : 0;
+                int predictor;
+                switch (filter) {
+                    case 1:
+                        predictor = left;
+                        break;
+                    case 2:
+                        predictor = up;
+                        break;
+                    case 3:
+                        predictor = (left + up) / 2;
+                        break;
+                    case 4:
+                        int p = left + up - upLeft;
+                        int pa = Math.abs(p - left);
+                        int pb = Math.abs(p - up);
+                        int pc = Math.abs(p - upLeft);
+                        predictor = (pa <= pb && pa <= pc) ? left : (pb <= pc) ? up : upLeft;
+                        break;
+                    default:
+                        predictor = 0;
+                }
+                raw.write((row[i] - predictor) & 0xFF);
+            }
+            prev = row;
+        }
+        Deflater deflater = new Deflater();
+        deflater.setInput(raw.toByteArray());
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        byte[] data = compressed.toByteArray();
+
+        ByteArrayOutputStream res = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(res);
+        out.write(new byte[] {-119, 80, 78, 71, 13, 10, 26, 10});
+        ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(ihdr);
+        header.writeInt(WIDTH);
+        header.writeInt(HEIGHT);
+        header.write(new byte[] {(byte) depth, (byte) colorType, 0, 0, 0});
+        chunk(out, "IHDR", ihdr.toByteArray(), 0, ihdr.size());
+        chunk(out, "tEXt", new byte[] {'a', 0, 'b'}, 0, 3);
+        for (int i = 0; i < data.length; i += 50) {
+            chunk(out, "IDAT", data, i, Math.min(50, data.length - i));
+        }
+        chunk(out, "IEND", data, 0, 0);
+        return res.toByteArray();
+    }
+
+    private static void chunk(DataOutputStream out, String type, byte[] data, int offset, int length)
+            throws IOException {
+        out.writeInt(length);
+        out.writeBytes(type);
+        out.write(data, offset, length);
+        out.writeInt(0);
+    }
+}
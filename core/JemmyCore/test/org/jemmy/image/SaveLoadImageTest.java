@@ -24,9 +24,12 @@
  */
 package org.jemmy.image;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Random;
 import org.jemmy.Dimension;
 import org.jemmy.image.pixel.PNGLoader;
 import org.jemmy.image.pixel.PNGSaver;
@@ -38,6 +41,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
 
@@ -105,6 +109,40 @@ public class SaveLoadImageTest {
         }
     }
 
+    @Test
+    public void filters() throws IOException {
+        int[][][] data = new int[45][31][3];
+        Random random = new Random(0);
+        for (int i = 0; i < data.length; i++) {
+            for (int j = 0; j < data[i].length; j++) {
+                data[i][j][0] = (i * j) % 0x100;
+                data[i][j][1] = (i + j * 5) % 0x100;
+                data[i][j][2] = random.nextInt(0x100);
+            }
+        }
+        Raster img = new RasterImpl(data.length, data[0].length, data);
+        for (int filter = PNGSaver.FILTER_ADAPTIVE; filter <= PNGSaver.FILTER_PAETH; filter++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            PNGSaver saver = new PNGSaver(out);
+            saver.setFilter(filter);
+            saver.setCompressionLevel(filter + 2);
+            saver.setChunkSize(100);
+            saver.encode(img);
+            Raster res = new PNGLoader(new ByteArrayInputStream(out.toByteArray())) {
+
+                @Override
+                protected WriteableRaster createRaster(int width, int height) {
+                    return new RasterImpl(width, height);
+                }
+            }.decode();
+            for (int i = 0; i < data.length; i++) {
+                for (int j = 0; j < data[i].length; j++) {
+                    assertEquals(((RasterImpl) res).data[i][j], data[i][j], "filter " + filter);
+                }
+            }
+        }
+    }
+
     private class RasterImpl implements WriteableRaster {
 
 
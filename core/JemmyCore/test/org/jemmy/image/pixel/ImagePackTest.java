@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ImagePackTest {
+
+    private File root;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("pack").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        ImagePack.open(root).close();
+        for (File file : root.listFiles()) {
+            file.delete();
+        }
+        root.delete();
+    }
+
+    @Test
+    public void deduplicate() throws IOException {
+        IntRaster one = IntRaster.random(30, 20, new Random(0));
+        IntRaster two = IntRaster.random(30, 20, new Random(1));
+        PackImageStore store = new PackImageStore(root);
+        ImagePack pack = store.getPack();
+        store.save(one, "one.png");
+        long size = new File(root, ImagePack.PACK_FILE).length();
+        store.save(one.copy(), "copy.png");
+        assertEquals(new File(root, ImagePack.PACK_FILE).length(), size);
+        store.save(two, "two.png");
+        assertEquals(pack.getBlobCount(), 2);
+        assertEquals(pack.getIDs().size(), 3);
+        assertTrue(Arrays.equals(pack.getDigest("one.png"), pack.getDigest("copy.png")));
+
+        pack.close();
+        pack = ImagePack.open(root);
+        assertEquals(pack.getBlobCount(), 2);
+        assertEquals(load(pack, "two.png").argb, two.argb);
+        assertEquals(load(pack, "copy.png").argb, one.argb);
+        assertFalse(pack.contains("three.png"));
+    }
+
+    @Test
+    public void incompleteRecord() throws IOException {
+        IntRaster one = IntRaster.random(10, 10, new Random(2));
+        IntRaster two = IntRaster.random(10, 10, new Random(3));
+        ImagePack pack = ImagePack.open(root);
+        pack.save(one, "one.png");
+        pack.close();
+        RandomAccessFile index = new RandomAccessFile(new File(root, ImagePack.INDEX_FILE), "rw");
+        index.seek(index.length());
+        index.write(new byte[] {0, 0, 0, 10, 'b', 'r'});
+        index.close();
+        pack = ImagePack.open(root);
+        assertEquals(pack.getIDs().size(), 1);
+        pack.save(two, "two.png");
+        pack.close();
+        pack = ImagePack.open(root);
+        assertEquals(pack.getIDs().size(), 2);
+        assertEquals(load(pack, "one.png").argb, one.argb);
+        assertEquals(load(pack, "two.png").argb, two.argb);
+    }
+
+    private static IntRaster load(ImagePack pack, String id) throws IOException {
+        return (IntRaster) new PNGLoader(pack.open(id)) {
+            @Override
+            protected WriteableRaster createRaster(int width, int height) {
+                return new IntRaster(width, height);
+            }
+        }.decode();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import org.jemmy.Dimension;
+import org.jemmy.JemmyException;
+import org.jemmy.image.Image;
+
+/**
+ * A raster of packed ARGB values kept in an array, for the tests.
+ */
+class IntRaster implements Image, WriteableRaster, PackedRaster {
+
+    static final Component[] RGBA = {
+        Component.RED, Component.GREEN, Component.BLUE, Component.ALPHA
+    };
+
+    final int width;
+    final int[] argb;
+    private final Component[] supported;
+    /**
+     * Number of rows read through {@code getARGB(...)}.
+     */
+    int rowReads = 0;
+
+    IntRaster(int width, int[] argb, Component[] supported) {
+        this.width = width;
+        this.argb = argb;
+        this.supported = supported.clone();
+    }
+
+    IntRaster(int width, int[] argb) {
+        this(width, argb, RGBA);
+    }
+
+    IntRaster(int width, int height) {
+        this(width, new int[width * height]);
+    }
+
+    static IntRaster random(int width, int height, Random random) {
+        IntRaster res = new IntRaster(width, height);
+        for (int i = 0; i < res.argb.length; i++) {
+            res.argb[i] = random.nextInt();
+        }
+        return res;
+    }
+
+    IntRaster copy() {
+        return new IntRaster(width, argb.clone(), supported);
+    }
+
+    public Dimension getSize() {
+        return new Dimension(width, argb.length / width);
+    }
+
+    public void getColors(int x, int y, double[] colors) {
+        Raster.fromARGB(argb[y * width + x], supported, colors, 0);
+    }
+
+    public void setColors(int x, int y, double[] values) {
+        argb[y * width + x] = Raster.toARGB(supported, values, 0);
+    }
+
+    public Component[] getSupported() {
+        return supported.clone();
+    }
+
+    @Override
+    public void getARGB(int x, int y, int width, int height, int[] res, int offset, int scansize) {
+        rowReads += height;
+        for (int j = 0; j < height; j++) {
+            System.arraycopy(argb, (y + j) * this.width + x, res, offset + j * scansize, width);
+        }
+    }
+
+    @Override
+    public void setARGB(int x, int y, int width, int height, int[] values, int offset, int scansize) {
+        for (int j = 0; j < height; j++) {
+            System.arraycopy(values, offset + j * scansize, argb, (y + j) * this.width + x, width);
+        }
+    }
+
+    public Image compareTo(Image img) {
+        if (img instanceof IntRaster && ((IntRaster) img).width == width
+                && Arrays.equals(((IntRaster) img).argb, argb)) {
+            return null;
+        }
+        return this;
+    }
+
+    public void save(String ID) {
+        try {
+            new PNGSaver(new File(ID)).encode(this);
+        } catch (IOException ex) {
+            throw new JemmyException("Unable to save image", ex, ID);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.util.Random;
+import org.jemmy.image.pixel.MultiResolutionComparator.Level;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class MultiResolutionComparatorTest {
+
+    @Test
+    public void levels() {
+        IntRaster golden = IntRaster.random(50, 30, new Random(0));
+        CountingComparator strict = new CountingComparator(new PixelEqualityRasterComparator(0));
+        //the counting wrapper hides the comparator, so the reject is requested
+        MultiResolutionComparator comparator = new MultiResolutionComparator(strict, 4, -1, 0, true);
+        assertTrue(comparator.isRejecting());
+        assertNull(comparator.getLastLevel());
+
+        assertTrue(comparator.compare(golden, golden.copy()));
+        assertEquals(comparator.getLastLevel(), Level.FULL);
+        assertEquals(strict.calls, 1);
+
+        IntRaster changed = golden.copy();
+        changed.argb[10 * 50 + 49] ^= 0x00010000;
+        assertFalse(comparator.compare(golden, changed));
+        assertEquals(comparator.getLastLevel(), Level.COARSE);
+        assertEquals(strict.calls, 1);
+
+        //the changes cancel out within a block
+        IntRaster cancelled = golden.copy();
+        cancelled.argb[0] = 0xFF101010;
+        cancelled.argb[1] = 0xFF202020;
+        golden.argb[0] = 0xFF202020;
+        golden.argb[1] = 0xFF101010;
+        MultiResolutionComparator fresh = new MultiResolutionComparator(strict, 4, 0);
+        assertFalse(fresh.compare(golden, cancelled));
+        assertEquals(fresh.getLastLevel(), Level.FULL);
+        assertEquals(strict.calls, 2);
+
+        MultiResolutionComparator guessing = new MultiResolutionComparator(strict, 8, 0, 0);
+        assertTrue(guessing.compare(golden, cancelled));
+        assertEquals(guessing.getLastLevel(), Level.COARSE);
+        assertEquals(guessing.getCoarseDecisions(), 1);
+        assertEquals(strict.calls, 2);
+
+        assertFalse(comparator.compare(golden, IntRaster.random(50, 31, new Random(1))));
+        assertEquals(comparator.getLastLevel(), Level.FULL);
+    }
+
+    @Test
+    public void rejectOnlyWhenImplied() {
+        IntRaster golden = IntRaster.random(50, 30, new Random(3));
+        IntRaster changed = golden.copy();
+        changed.argb[0] ^= 0x00FF0000;
+        //one pixel out of 1500 is within the tolerance of the full comparator
+        CountingComparator tolerant = new CountingComparator(new PixelEqualityRasterComparator(0.01));
+        MultiResolutionComparator comparator = new MultiResolutionComparator(tolerant, 4, 0);
+        assertFalse(comparator.isRejecting());
+        assertTrue(comparator.compare(golden, changed));
+        assertEquals(comparator.getLastLevel(), Level.FULL);
+        assertEquals(tolerant.calls, 1);
+        assertEquals(comparator.getCoarseDecisions(), 0);
+
+        assertFalse(new MultiResolutionComparator(new MaxDistanceComparator(0.5), 4, 0.1).isRejecting());
+        assertTrue(new MultiResolutionComparator(new MaxDistanceComparator(0.05), 4, 0.1).isRejecting());
+        assertTrue(new MultiResolutionComparator(new PixelEqualityRasterComparator(0), 4, 0).isRejecting());
+        assertFalse(new MultiResolutionComparator(new AverageDistanceComparator(0.01), 4, 0).isRejecting());
+    }
+
+    @Test
+    public void cache() {
+        IntRaster golden = IntRaster.random(64, 64, new Random(2));
+        MultiResolutionComparator comparator = new MultiResolutionComparator(
+                new PixelEqualityRasterComparator(0), 8, 0);
+        for (int i = 0; i < 5; i++) {
+            IntRaster capture = golden.copy();
+            capture.argb[i] ^= 0x00FF0000;
+            assertFalse(comparator.compare(golden, capture));
+        }
+        assertEquals(golden.rowReads, 64);
+        assertEquals(comparator.getCoarseDecisions(), 5);
+    }
+
+    private static class CountingComparator implements RasterComparator {
+
+        private final RasterComparator comparator;
+        private int calls = 0;
+
+        CountingComparator(RasterComparator comparator) {
+            this.comparator = comparator;
+        }
+
+        public boolean compare(Raster image1, Raster image2) {
+            calls++;
+            return comparator.compare(image1, image2);
+        }
+
+        public String getID() {
+            return comparator.getID();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.util.Random;
+import org.jemmy.Dimension;
+import org.jemmy.image.pixel.Raster.Component;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Checks the packed ARGB path against the component value one.
+ */
+public class PackedRastersTest {
+
+    private static final double TOLERANCE = 1e-12;
+    private static final Component[] ABGR = {
+        Component.ALPHA, Component.BLUE, Component.GREEN, Component.RED
+    };
+
+    @Test
+    public void sameResults() {
+        Random random = new Random(0);
+        for (int i = 0; i < 20; i++) {
+            IntRaster one = new IntRaster(37, IntRaster.random(37, 23, random).argb, ABGR);
+            IntRaster two = one.copy();
+            for (int j = 0; j < i * 5; j++) {
+                two.argb[random.nextInt(two.argb.length)] ^= 1 << random.nextInt(32);
+            }
+            Dimension size = one.getSize();
+            Raster plainOne = new PlainRaster(one);
+            Raster plainTwo = new PlainRaster(two);
+            assertEquals(AverageDistanceComparator.averageDistance(one, two, size),
+                    AverageDistanceComparator.averageDistance(plainOne, plainTwo, size), TOLERANCE);
+            assertEquals(MaxDistanceComparator.maxDistance(one, two, size),
+                    MaxDistanceComparator.maxDistance(plainOne, plainTwo, size), TOLERANCE);
+            assertEquals(PeakSignalNoiseRatioComparator.getMeanSquareError(one, two),
+                    PeakSignalNoiseRatioComparator.getMeanSquareError(plainOne, plainTwo), TOLERANCE);
+            for (double threshold : new double[] {0, 0.01, 0.1, 0.5}) {
+                PixelEqualityRasterComparator equality = new PixelEqualityRasterComparator(threshold);
+                assertEquals(equality.compare(one, two), equality.compare(plainOne, plainTwo));
+            }
+        }
+    }
+}
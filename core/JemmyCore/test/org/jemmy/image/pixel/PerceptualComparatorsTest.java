@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class PerceptualComparatorsTest {
+
+    private static final int WIDTH = 120;
+    private static final int HEIGHT = 80;
+
+    @Test
+    public void perceptualHash() {
+        IntRaster pattern = pattern(0);
+        IntRaster noisy = noise(pattern, new Random(0), 8);
+        PerceptualHashComparator comparator = new PerceptualHashComparator(4);
+        assertTrue(comparator.compare(pattern, pattern));
+        assertTrue(comparator.compare(pattern, noisy));
+        assertFalse(comparator.compare(pattern, pattern(1)));
+        assertFalse(comparator.compare(flat(0xFFFFFFFF), flat(0xFF000000)));
+        assertTrue(comparator.compare(flat(0xFF808080), flat(0xFF818181)));
+        assertEquals(PerceptualHashComparator.hash(pattern), PerceptualHashComparator.hash(pattern(0)));
+        int reads = pattern.rowReads;
+        assertTrue(comparator.compare(pattern, noisy));
+        assertEquals(pattern.rowReads, reads);
+    }
+
+    @Test
+    public void prefilter() {
+        final int[] calls = new int[1];
+        RasterComparator sub = new RasterComparator() {
+            public boolean compare(Raster image1, Raster image2) {
+                calls[0]++;
+                return true;
+            }
+
+            public String getID() {
+                return "sub";
+            }
+        };
+        PerceptualHashComparator comparator = new PerceptualHashComparator(0, PerceptualHashComparator.HASH_BITS, sub);
+        IntRaster pattern = pattern(0);
+        assertTrue(comparator.compare(pattern, pattern));
+        assertEquals(calls[0], 0);
+        assertTrue(comparator.compare(pattern, pattern(1)));
+        assertEquals(calls[0], 1);
+        comparator = new PerceptualHashComparator(0, 0, sub);
+        assertFalse(comparator.compare(pattern, pattern(1)));
+        assertEquals(calls[0], 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void noSubComparator() {
+        new PerceptualHashComparator(2, 10, null);
+    }
+
+    @Test
+    public void structuralSimilarity() {
+        IntRaster pattern = pattern(0);
+        StructuralSimilarityComparator comparator = new StructuralSimilarityComparator(0.9);
+        assertEquals(comparator.getSimilarity(pattern, pattern), 1, 1e-9);
+        assertTrue(comparator.compare(pattern, noise(pattern, new Random(1), 4)));
+        assertFalse(comparator.compare(pattern, pattern(1)));
+        assertFalse(comparator.compare(pattern, new IntRaster(WIDTH, HEIGHT - 1)));
+        StructuralSimilarityComparator small = new StructuralSimilarityComparator(0.9, 4, 16);
+        assertTrue(small.compare(pattern, noise(pattern, new Random(2), 4)));
+        assertFalse(small.compare(pattern, pattern(1)));
+    }
+
+    /**
+     * A gradient with a disc, the disc is in another place for another
+     * layout.
+     */
+    private static IntRaster pattern(int layout) {
+        IntRaster res = new IntRaster(WIDTH, HEIGHT);
+        int cx = (layout == 0) ? WIDTH / 3 : 2 * WIDTH / 3;
+        int cy = (layout == 0) ? HEIGHT / 3 : 2 * HEIGHT / 3;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int value = 0x20 + 0x80 * (x + y) / (WIDTH + HEIGHT);
+                if ((x - cx) * (x - cx) + (y - cy) * (y - cy) < 400) {
+                    value = 0xF0;
+                }
+                res.argb[y * WIDTH + x] = 0xFF000000 | value << 16 | value << 8 | value;
+            }
+        }
+        return res;
+    }
+
+    private static IntRaster flat(int argb) {
+        IntRaster res = new IntRaster(WIDTH, HEIGHT);
+        java.util.Arrays.fill(res.argb, argb);
+        return res;
+    }
+
+    private static IntRaster noise(IntRaster original, Random random, int amplitude) {
+        IntRaster res = new IntRaster(WIDTH, HEIGHT);
+        for (int i = 0; i < res.argb.length; i++) {
+            int value = Math.max(0, Math.min(0xFF, (original.argb[i] & 0xFF)
+                    + random.nextInt(2 * amplitude + 1) - amplitude));
+            res.argb[i] = 0xFF000000 | value << 16 | value << 8 | value;
+        }
+        return res;
+    }
+}
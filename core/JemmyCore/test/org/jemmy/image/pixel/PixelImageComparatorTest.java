@@ -24,6 +24,7 @@
  */
 package org.jemmy.image.pixel;
 
+import java.util.Arrays;
 import org.jemmy.env.Environment;
 import org.jemmy.image.Image;
 import org.jemmy.image.pixel.Raster.Component;
@@ -113,4 +114,47 @@ public class PixelImageComparatorTest {
         double[] colors = new double[] { 1.1, 1.1, 1.1, 1.0 };
         comparator.getComponentValue(supportedComps, colors, Component.RED);
     }
+
+    @Test
+    public void testLayoutWithoutAlpha() {
+        Component[] bgr = new Component[] {Component.BLUE, Component.GREEN, Component.RED};
+        ComponentLayout layout = new ComponentLayout(bgr);
+        AssertJUnit.assertFalse(layout.hasAlpha());
+        AssertJUnit.assertFalse(layout.isRGB());
+        double[] colors = new double[] { 0.0, 0.0, 0.2, 0.3, 0.4, 0.5 };
+        AssertJUnit.assertEquals(0.5, comparator.getComponentValue(layout, colors, 3, Component.RED), 0.001);
+        AssertJUnit.assertEquals(0.2, comparator.getComponentValue(bgr, new double[] {0.0, 0.0, 0.2}, Component.RED), 0.001);
+        AssertJUnit.assertTrue(layout.isSame(new ComponentLayout(bgr.clone())));
+        AssertJUnit.assertFalse(layout.isSame(new ComponentLayout(supportedComps)));
+    }
+
+    @Test
+    public void testOverriddenArrayDiffColor() {
+        PixelImageComparator legacy = new PixelImageComparator(new Environment()) {
+            @Override
+            protected Image toImage(Raster image) {
+                throw new UnsupportedOperationException("Not supported yet.");
+            }
+
+            @Override
+            protected Raster toRaster(Image image) {
+                throw new UnsupportedOperationException("Not supported yet.");
+            }
+
+            @Override
+            protected WriteableRaster createDiffRaster(Raster r1, Raster r2) {
+                return new IntRaster(r1.getSize().width, r1.getSize().height);
+            }
+
+            @Override
+            protected void calcDiffColor(Component[] comps1, double[] colors1,
+                    Component[] comps2, double[] colors2, Component[] compsRes, double[] colorsRes) {
+                Arrays.fill(colorsRes, 1);
+            }
+        };
+        IntRaster one = new IntRaster(3, new int[] {0xff000000, 0xff000000, 0xff000000});
+        IntRaster two = new IntRaster(3, new int[] {0xff000000, 0xffffffff, 0xff000000});
+        IntRaster res = (IntRaster) legacy.computeDifference(one, two);
+        AssertJUnit.assertTrue(Arrays.equals(new int[] {-1, -1, -1}, res.argb));
+    }
 }
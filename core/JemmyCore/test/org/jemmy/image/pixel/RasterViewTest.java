@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.util.Random;
+import org.jemmy.Dimension;
+import org.jemmy.Rectangle;
+import org.jemmy.image.pixel.ColorMappingComparator.ColorMap;
+import org.jemmy.image.pixel.Raster.Component;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class RasterViewTest {
+
+    private static final ColorMap INVERT = new ColorMap() {
+        public void map(Component[] components, double[] values, double[] newValues) {
+            for (int i = 0; i < components.length; i++) {
+                newValues[i] = (components[i] == Component.ALPHA) ? values[i] : 1 - values[i];
+            }
+        }
+
+        public String getID() {
+            return "invert";
+        }
+    };
+
+    @Test
+    public void crop() {
+        IntRaster source = IntRaster.random(40, 30, new Random(0));
+        RasterView view = RasterView.crop(source, new Rectangle(5, 7, 20, 10));
+        assertEquals(view.getSize(), new Dimension(20, 10));
+        assertTrue(RasterView.isPacked(view));
+        int[] argb = new int[20 * 10];
+        view.getARGB(0, 0, 20, 10, argb, 0, 20);
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 20; x++) {
+                assertEquals(argb[y * 20 + x], source.argb[(y + 7) * 40 + x + 5]);
+            }
+        }
+        IntRaster copy = view.copyTo(new IntRaster(20, 10));
+        assertEquals(copy.argb, argb);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void cropOutside() {
+        RasterView.crop(new IntRaster(10, 10), new Rectangle(5, 5, 10, 1));
+    }
+
+    @Test
+    public void resize() {
+        IntRaster source = IntRaster.random(10, 6, new Random(1));
+        RasterView view = RasterView.resize(source, new Dimension(25, 3));
+        assertTrue(RasterView.isPacked(view));
+        IntRaster copy = view.copyTo(new IntRaster(25, 3));
+        double[] colors = new double[4];
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 25; x++) {
+                int expected = source.argb[(y * 6 / 3) * 10 + x * 10 / 25];
+                assertEquals(copy.argb[y * 25 + x], expected);
+                view.getColors(x, y, colors);
+                assertEquals(Raster.toARGB(view.getSupported(), colors, 0), expected);
+            }
+        }
+    }
+
+    @Test
+    public void map() {
+        IntRaster source = IntRaster.random(33, 17, new Random(2));
+        RasterView view = RasterView.map(RasterView.crop(source, new Rectangle(1, 1, 31, 15)), INVERT);
+        assertFalse(RasterView.isPacked(view));
+        IntRaster copy = view.copyTo(new IntRaster(31, 15));
+        for (int y = 0; y < 15; y++) {
+            for (int x = 0; x < 31; x++) {
+                int original = source.argb[(y + 1) * 33 + x + 1];
+                assertEquals(copy.argb[y * 31 + x], original ^ 0x00FFFFFF);
+            }
+        }
+        ColorMappingComparator comparator = new ColorMappingComparator(INVERT, new PixelEqualityRasterComparator(0)) {
+            @Override
+            protected WriteableRaster createView(Dimension size) {
+                return new IntRaster(size.width, size.height);
+            }
+        };
+        assertEquals(((IntRaster) comparator.map(source, INVERT)).argb.length, source.argb.length);
+        assertTrue(comparator.compare(source, source.copy()));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.image.pixel;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.jemmy.Dimension;
+import org.jemmy.image.Image;
+import org.jemmy.image.pixel.Raster.Component;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Checks that tiled and parallel comparison give the same results as
+ * the pixel by pixel one.
+ */
+public class TiledComparisonTest {
+
+    private static final Component[] RGBA = {
+        Component.RED, Component.GREEN, Component.BLUE, Component.ALPHA
+    };
+
+    private final PixelImageComparator comparator = new PixelImageComparator(new PixelEqualityRasterComparator(0)) {
+        @Override
+        protected Image toImage(Raster image) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected Raster toRaster(Image image) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected WriteableRaster createDiffRaster(Raster r1, Raster r2) {
+            return new ArrayRaster(Math.max(r1.getSize().width, r2.getSize().width),
+                    Math.max(r1.getSize().height, r2.getSize().height));
+        }
+    };
+
+    @Test
+    public void difference() {
+        Random random = new Random(1);
+        ArrayRaster one = ArrayRaster.random(150, 90, random);
+        ArrayRaster two = one.copy();
+        for (int i = 0; i < 50; i++) {
+            two.colors[random.nextInt(two.colors.length)] = random.nextDouble();
+        }
+        ArrayRaster parallel = (ArrayRaster) comparator.computeDifference(one, two);
+        ArrayRaster sequential = (ArrayRaster) comparator.computeDifference(new PlainRaster(one), new PlainRaster(two));
+        ArrayRaster expected = new ArrayRaster(150, 90);
+        ComponentLayout layout = new ComponentLayout(RGBA);
+        for (int i = 0; i < expected.colors.length; i += RGBA.length) {
+            comparator.calcDiffColor(layout, one.colors, i, layout, two.colors, i, layout, expected.colors, i);
+        }
+        assertTrue(Arrays.equals(expected.colors, parallel.colors));
+        assertTrue(Arrays.equals(expected.colors, sequential.colors));
+    }
+
+    @Test
+    public void differentSizes() {
+        Random random = new Random(2);
+        ArrayRaster one = ArrayRaster.random(70, 130, random);
+        ArrayRaster two = ArrayRaster.random(140, 65, random);
+        ArrayRaster parallel = (ArrayRaster) comparator.computeDifference(one, two);
+        ArrayRaster sequential = (ArrayRaster) comparator.computeDifference(new PlainRaster(one), new PlainRaster(two));
+        assertEquals(parallel.getSize(), new Dimension(140, 130));
+        assertTrue(Arrays.equals(parallel.colors, sequential.colors));
+    }
+
+    @Test
+    public void threshold() {
+        Random random = new Random(3);
+        ArrayRaster one = ArrayRaster.random(200, 100, random);
+        ArrayRaster two = one.copy();
+        int total = 200 * 100;
+        int changed = 0;
+        for (int i = 0; i < total; i += 97) {
+            two.colors[i * RGBA.length] = 1 - two.colors[i * RGBA.length];
+            changed++;
+        }
+        for (Raster[] pair : new Raster[][] {{one, two}, {new PlainRaster(one), new PlainRaster(two)}}) {
+            assertTrue(new PixelEqualityRasterComparator((double) changed / total).compare(pair[0], pair[1]));
+            assertFalse(new PixelEqualityRasterComparator((double) (changed - 1) / total).compare(pair[0], pair[1]));
+            assertFalse(new PixelEqualityRasterComparator(0).compare(pair[0], pair[1]));
+        }
+    }
+
+    private static class ArrayRaster implements WriteableRaster, ConcurrentRaster {
+
+        private final int width;
+        private final int height;
+        private final double[] colors;
+
+        ArrayRaster(int width, int height) {
+            this.width = width;
+            this.height = height;
+            colors = new double[width * height * RGBA.length];
+        }
+
+        static ArrayRaster random(int width, int height, Random random) {
+            ArrayRaster res = new ArrayRaster(width, height);
+            for (int i = 0; i < res.colors.length; i++) {
+                res.colors[i] = random.nextInt(0x100) / (double) 0xFF;
+            }
+            return res;
+        }
+
+        ArrayRaster copy() {
+            ArrayRaster res = new ArrayRaster(width, height);
+            System.arraycopy(colors, 0, res.colors, 0, colors.length);
+            return res;
+        }
+
+        public Dimension getSize() {
+            return new Dimension(width, height);
+        }
+
+        public void getColors(int x, int y, double[] values) {
+            System.arraycopy(colors, (y * width + x) * RGBA.length, values, 0, RGBA.length);
+        }
+
+        public void setColors(int x, int y, double[] values) {
+            System.arraycopy(values, 0, colors, (y * width + x) * RGBA.length, RGBA.length);
+        }
+
+        public Component[] getSupported() {
+            return RGBA.clone();
+        }
+    }
+}
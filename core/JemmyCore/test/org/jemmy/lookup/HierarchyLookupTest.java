@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.lookup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jemmy.env.Environment;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class HierarchyLookupTest {
+
+    private TestHierarchy hierarchy;
+
+    @BeforeMethod
+    public void setUp() {
+        hierarchy = new TestHierarchy();
+        hierarchy.add(null, "root");
+        for (int i = 0; i < 10; i++) {
+            hierarchy.add("root", "node" + i);
+            for (int j = 0; j < 10; j++) {
+                hierarchy.add("node" + i, "leaf" + i + j);
+            }
+        }
+    }
+
+    @Test
+    public void unchanged() {
+        HierarchyLookup<String> lookup = new HierarchyLookup<String>(
+                new Environment(), hierarchy, String.class, new Any<String>());
+        assertTrue(lookup.isIncremental());
+        assertEquals(lookup.size(), 111);
+        int reads = hierarchy.reads;
+        assertEquals(lookup.size(), 111);
+        assertEquals(hierarchy.reads, reads);
+    }
+
+    @Test
+    public void changed() {
+        HierarchyLookup<String> lookup = new HierarchyLookup<String>(
+                new Environment(), hierarchy, String.class, new Any<String>());
+        assertEquals(lookup.size(), 111);
+        int reads = hierarchy.reads;
+        hierarchy.add("node5", "extra");
+        assertEquals(lookup.size(), 112);
+        assertEquals(hierarchy.reads, reads + 2);
+        assertEquals(lookup.lookup(new EqualsLookup<String>("extra")).size(), 1);
+    }
+
+    @Test
+    public void fullWalk() {
+        HierarchyLookup<String> lookup = new HierarchyLookup<String>(
+                new Environment(), hierarchy, String.class, new Any<String>());
+        lookup.setIncremental(false);
+        assertFalse(lookup.isIncremental());
+        assertEquals(lookup.size(), 111);
+        int reads = hierarchy.reads;
+        assertEquals(lookup.size(), 111);
+        assertEquals(hierarchy.reads, 2 * reads);
+    }
+
+    @Test
+    public void firstMatch() {
+        final int[] checks = new int[1];
+        HierarchyLookup<String> lookup = new HierarchyLookup<String>(
+                new Environment(), hierarchy, String.class, new LookupCriteria<String>() {
+            public boolean check(String control) {
+                checks[0]++;
+                return control.startsWith("node");
+            }
+        });
+        assertEquals(lookup.get(), "node0");
+        assertEquals(checks[0], 2);
+        assertEquals(hierarchy.reads, 2);
+        assertEquals(lookup.get(1), "node1");
+        assertEquals(lookup.size(), 10);
+        assertEquals(checks[0], 2 + 13 + 111);
+    }
+
+    @Test
+    public void removedAfterPartialWalk() {
+        HierarchyLookup<String> lookup = new HierarchyLookup<String>(
+                new Environment(), hierarchy, String.class, new LookupCriteria<String>() {
+            public boolean check(String control) {
+                return control.startsWith("node");
+            }
+        });
+        assertEquals(lookup.size(), 10);
+        Object node5 = lookup.get(5);
+        Object node7 = lookup.get(7);
+        Object leaf55 = hierarchy.getChildren(node5).get(5);
+        assertTrue(lookup.isInSnapshot(node5));
+        assertTrue(lookup.isInSnapshot(leaf55));
+        hierarchy.remove(node5);
+        lookup.refresh(1);
+        assertEquals(lookup.get(), "node0");
+        assertFalse(lookup.isInSnapshot(node5));
+        assertFalse(lookup.isInSnapshot(leaf55));
+        assertTrue(lookup.isInSnapshot(node7));
+        assertEquals(lookup.size(), 9);
+    }
+
+    @Test
+    public void concurrent() {
+        TestHierarchy concurrent = new ConcurrentTestHierarchy();
+        concurrent.add(null, "root");
+        for (int i = 0; i < 10; i++) {
+            concurrent.add("root", "node" + i);
+            for (int j = 0; j < 10; j++) {
+                concurrent.add("node" + i, "leaf" + i + j);
+            }
+        }
+        LookupCriteria<String> leaves = new LookupCriteria<String>() {
+            public boolean check(String control) {
+                return control.startsWith("leaf");
+            }
+        };
+        HierarchyLookup<String> sequential = new HierarchyLookup<String>(
+                new Environment(), hierarchy, String.class, leaves);
+        HierarchyLookup<String> parallel = new HierarchyLookup<String>(
+                new Environment(), concurrent, String.class, leaves);
+        assertTrue(parallel.isConcurrent());
+        assertEquals(parallel.size(), 100);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(parallel.get(i), sequential.get(i));
+        }
+        assertEquals(parallel.get(42), "leaf42");
+        assertEquals(parallel.lookup(new EqualsLookup<String>("leaf77")).size(), 1);
+    }
+
+    private static class ConcurrentTestHierarchy extends TestHierarchy implements ConcurrentControlHierarchy {
+    }
+
+    private static class TestHierarchy implements IncrementalControlHierarchy {
+
+        private final Map<Object, List<Object>> children = new HashMap<Object, List<Object>>();
+        private final Map<Object, Long> revisions = new HashMap<Object, Long>();
+        private final Map<Object, Object> parents = new HashMap<Object, Object>();
+        int reads = 0;
+
+        void add(Object parent, Object child) {
+            List<Object> list = children.get(parent);
+            if (list == null) {
+                list = new ArrayList<Object>();
+                children.put(parent, list);
+            }
+            list.add(child);
+            parents.put(child, parent);
+            Long revision = revisions.get(parent);
+            revisions.put(parent, (revision == null) ? 0 : revision + 1);
+        }
+
+        void remove(Object child) {
+            Object parent = parents.remove(child);
+            children.get(parent).remove(child);
+            revisions.put(parent, revisions.get(parent) + 1);
+        }
+
+        public synchronized long getRevision(Object subParent) {
+            Long revision = revisions.get(subParent);
+            return (revision == null) ? 0 : revision;
+        }
+
+        public synchronized List<?> getChildren(Object subParent) {
+            reads++;
+            List<Object> list = children.get(subParent);
+            return (list == null) ? null : new ArrayList<Object>(list);
+        }
+
+        public Object getParent(Object child) {
+            return parents.get(child);
+        }
+
+        public List<?> getControls() {
+            return getChildren(null);
+        }
+    }
+}
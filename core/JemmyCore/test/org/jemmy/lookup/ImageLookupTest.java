@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.lookup;
+
+import java.util.Arrays;
+import java.util.List;
+import org.jemmy.Rectangle;
+import org.jemmy.control.Wrap;
+import org.jemmy.control.Wrapper;
+import org.jemmy.env.Environment;
+import org.jemmy.image.Image;
+import org.jemmy.image.ScreenCapturer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class ImageLookupTest {
+
+    private int[] captures;
+    private Environment env;
+    private Wrapper wrapper;
+    private ControlHierarchy hierarchy;
+    private Image image;
+
+    @BeforeMethod
+    public void setUp() {
+        captures = new int[2];
+        env = new Environment();
+        env.setImageCapturer(new ScreenCapturer() {
+            public Image capture(Wrap<?> control, Rectangle area) {
+                captures[0]++;
+                Rectangle bounds = control.getScreenBounds();
+                return new AreaImage(new Rectangle(bounds.x + area.x, bounds.y + area.y,
+                        area.width, area.height));
+            }
+
+            public Rectangle getScreenBounds() {
+                return new Rectangle(0, 0, 100, 100);
+            }
+
+            public Image capture(Rectangle area) {
+                captures[1]++;
+                return new AreaImage(area);
+            }
+
+            public Image crop(Image image, Rectangle area) {
+                return new AreaImage(new Rectangle(area.x, area.y, area.width, area.height));
+            }
+        });
+        wrapper = new Wrapper() {
+            @SuppressWarnings("unchecked")
+            public <T> Wrap<? extends T> wrap(Class<T> controlClass, T control) {
+                return (Wrap<? extends T>) new RectangleWrap(env, (Rectangle) control);
+            }
+        };
+        hierarchy = new ControlHierarchy() {
+            public List<?> getChildren(Object subParent) {
+                return null;
+            }
+
+            public Object getParent(Object child) {
+                return null;
+            }
+
+            public List<?> getControls() {
+                return Arrays.asList(new Rectangle(0, 0, 10, 10), new Rectangle(20, 20, 10, 10),
+                        new Rectangle(90, 90, 20, 20), new Rectangle(40, 40, 10, 10));
+            }
+        };
+        image = new AreaImage(new Rectangle(20, 20, 10, 10));
+    }
+
+    @Test
+    public void sharedCapture() {
+        Lookup<Rectangle> shared = new HierarchyLookup<Rectangle>(env, hierarchy, Rectangle.class,
+                new ImageLookup<Rectangle>(wrapper, Rectangle.class, image, null, true));
+        assertEquals(shared.size(), 1);
+        assertEquals(shared.get(), new Rectangle(20, 20, 10, 10));
+        //the control crossing the screen edge is captured on its own
+        assertEquals(captures[1], 1);
+        assertEquals(captures[0], 1);
+
+        Lookup<Rectangle> separate = new HierarchyLookup<Rectangle>(env, hierarchy, Rectangle.class,
+                new ImageLookup<Rectangle>(wrapper, Rectangle.class, image));
+        assertEquals(separate.size(), 1);
+        assertEquals(captures[1], 1);
+        assertEquals(captures[0], 5);
+    }
+
+    @Test
+    public void chainedSharedCapture() {
+        Lookup<Rectangle> chained = new HierarchyLookup<Rectangle>(env, hierarchy, Rectangle.class,
+                new ImageLookup<Rectangle>(wrapper, Rectangle.class, image, null, true))
+                .lookup(Rectangle.class, new Any<Rectangle>());
+        assertEquals(chained.size(), 1);
+        assertEquals(chained.get(), new Rectangle(20, 20, 10, 10));
+        assertEquals(captures[1], 1);
+        assertEquals(captures[0], 1);
+    }
+
+    private static class RectangleWrap extends Wrap<Rectangle> {
+
+        RectangleWrap(Environment env, Rectangle control) {
+            super(env, control);
+        }
+
+        @Override
+        public Rectangle getScreenBounds() {
+            return getControl();
+        }
+    }
+
+    private static class AreaImage implements Image {
+
+        private final Rectangle area;
+
+        AreaImage(Rectangle area) {
+            this.area = area;
+        }
+
+        public Image compareTo(Image img) {
+            return area.equals(((AreaImage) img).area) ? null : this;
+        }
+
+        public void save(String ID) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation. Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.jemmy.timing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.jemmy.env.Environment;
+import org.jemmy.env.Timeout;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class WaiterTest {
+
+    @Test
+    public void notifying() {
+        final CompletableFuture<String> future = new CompletableFuture<String>();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        executor.schedule(new Runnable() {
+            public void run() {
+                future.complete("done");
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+        long start = System.currentTimeMillis();
+        try {
+            String res = new Waiter(new Timeout("", 10000), new Timeout("", 5000)).waitState(new NotifyingState<String>() {
+                public String reached() {
+                    return future.getNow(null);
+                }
+
+                public void addWakeUp(WakeUp wakeUp) {
+                    wakeUp.signalOn(future);
+                }
+
+                public void removeWakeUp(WakeUp wakeUp) {
+                }
+            });
+            assertEquals(res, "done");
+            assertTrue(System.currentTimeMillis() - start < 5000);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void backoff() {
+        final int[] attempts = new int[1];
+        assertNull(new Waiter(new Timeout("", 200), new Timeout("", 100), new Timeout("", 1)).waitState(new State<Object>() {
+            public Object reached() {
+                attempts[0]++;
+                return null;
+            }
+        }));
+        assertTrue(attempts[0] > 4, "attempts: " + attempts[0]);
+    }
+
+    @Test
+    public void environmentBackoff() {
+        Environment env = new Environment();
+        env.setTimeout("WaiterTest.environmentBackoff", 200);
+        final int[] attempts = new int[1];
+        assertNull(env.getWaiter("WaiterTest.environmentBackoff").waitState(new State<Object>() {
+            public Object reached() {
+                attempts[0]++;
+                return null;
+            }
+        }));
+        assertTrue(attempts[0] > 4, "attempts: " + attempts[0]);
+    }
+}